@@ -0,0 +1,54 @@
+// 选课高峰压测脚本（k6）
+// 分别以平台线程和虚拟线程模式启动服务，用相同参数各运行一次并对比吞吐量和延迟：
+//   VIRTUAL_THREADS_ENABLED=false mvn spring-boot:run
+//   VIRTUAL_THREADS_ENABLED=true  mvn spring-boot:run
+//   k6 run -e BASE_URL=http://localhost:8082 -e COURSE_IDS=1,2,3 loadtest/enrollment-spike.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const COURSE_IDS = (__ENV.COURSE_IDS || '1').split(',').map(Number);
+const VUS = Number(__ENV.VUS || 2000);
+const USER_ID_BASE = Number(__ENV.USER_ID_BASE || 100000);
+
+export const options = {
+    scenarios: {
+        enrollment_day: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<1000'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function pick(list) {
+    return list[Math.floor(Math.random() * list.length)];
+}
+
+export default function () {
+    const courseId = pick(COURSE_IDS);
+    const userId = USER_ID_BASE + (__VU - 1) * 1000 + (__ITER % 1000);
+
+    // 选课高峰的典型请求组合：浏览课程详情、检查注册状态、提交注册
+    const detail = http.get(`${BASE_URL}/api/courses/${courseId}/detail`, { tags: { name: 'detail' } });
+    check(detail, { 'detail 200': (r) => r.status === 200 });
+
+    const status = http.get(`${BASE_URL}/api/enrollments/check?userId=${userId}&courseId=${courseId}`,
+        { tags: { name: 'check' } });
+    check(status, { 'check 200': (r) => r.status === 200 });
+
+    // 人数已满、重复注册返回业务错误码，不计为失败
+    const enroll = http.post(`${BASE_URL}/api/enrollments?userId=${userId}&courseId=${courseId}`, null,
+        { tags: { name: 'enroll' } });
+    check(enroll, { 'enroll handled': (r) => r.status === 200 });
+}
@@ -0,0 +1,102 @@
+package com.no99.edunexuscourse_management.benchmark;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.entity.User;
+import org.h2.tools.RunScript;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试数据准备
+ */
+final class BenchmarkData {
+
+    private static final int INSTRUCTORS = 50;
+
+    private BenchmarkData() {}
+
+    /**
+     * 使用测试资源中的 schema.sql 建表
+     */
+    static void createSchema(Connection connection) throws SQLException {
+        try (Reader reader = new InputStreamReader(
+                BenchmarkData.class.getResourceAsStream("/schema.sql"), StandardCharsets.UTF_8)) {
+            RunScript.execute(connection, reader);
+        } catch (java.io.IOException e) {
+            throw new SQLException("读取 schema.sql 失败", e);
+        }
+    }
+
+    /**
+     * 插入教师和课程数据
+     */
+    static void insertCourses(Connection connection, int count) throws SQLException {
+        try (PreparedStatement users = connection.prepareStatement(
+                "INSERT INTO users (id, username, email, first_name, last_name, role) VALUES (?, ?, ?, ?, ?, 'instructor')")) {
+            for (int i = 1; i <= INSTRUCTORS; i++) {
+                users.setInt(1, i);
+                users.setString(2, "teacher" + i);
+                users.setString(3, "teacher" + i + "@edunexus.com");
+                users.setString(4, "老师");
+                users.setString(5, String.valueOf(i));
+                users.addBatch();
+            }
+            users.executeBatch();
+        }
+        try (PreparedStatement courses = connection.prepareStatement(
+                "INSERT INTO courses (title, code, description, instructor_id, credits, max_students, is_public, status, start_date, end_date) " +
+                "VALUES (?, ?, ?, ?, 3, 100, 1, ?, ?, ?)")) {
+            String[] statuses = {"draft", "published", "archived"};
+            for (int i = 0; i < count; i++) {
+                courses.setString(1, "Java程序设计 第" + i + "讲");
+                courses.setString(2, "CS" + (10000 + i));
+                courses.setString(3, "面向对象编程、集合框架与并发编程基础");
+                courses.setInt(4, i % INSTRUCTORS + 1);
+                courses.setString(5, statuses[i % statuses.length]);
+                courses.setObject(6, LocalDate.of(2024, 2, 26));
+                courses.setObject(7, LocalDate.of(2024, 6, 30));
+                courses.addBatch();
+            }
+            courses.executeBatch();
+        }
+    }
+
+    /**
+     * 构造内存中的课程列表（含教师信息）
+     */
+    static List<Course> courses(int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User instructor = new User();
+            instructor.setId(i % INSTRUCTORS + 1);
+            instructor.setUsername("teacher" + instructor.getId());
+            instructor.setEmail(instructor.getUsername() + "@edunexus.com");
+            instructor.setFirstName("老师");
+            instructor.setLastName(String.valueOf(instructor.getId()));
+
+            Course course = new Course("Java程序设计 第" + i + "讲", "CS" + (10000 + i),
+                    "面向对象编程、集合框架与并发编程基础", instructor.getId());
+            course.setId(i + 1);
+            course.setCredits(3);
+            course.setMaxStudents(100);
+            course.setIsPublic(true);
+            course.setStatus(Course.CourseStatus.PUBLISHED);
+            course.setStartDate(LocalDate.of(2024, 2, 26));
+            course.setEndDate(LocalDate.of(2024, 6, 30));
+            course.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(i));
+            course.setUpdatedAt(course.getCreatedAt());
+            course.setInstructor(instructor);
+            courses.add(course);
+        }
+        return courses;
+    }
+}
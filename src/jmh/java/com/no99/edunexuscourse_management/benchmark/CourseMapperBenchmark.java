@@ -0,0 +1,65 @@
+package com.no99.edunexuscourse_management.benchmark;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseMapper 结果映射基准测试
+ * 使用内存H2数据库，衡量包含 instructor.* 嵌套属性和枚举类型处理器的结果映射开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CourseMapperBenchmark {
+
+    private static final int COURSES = 1000;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:course_mapper_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection()) {
+            BenchmarkData.createSchema(connection);
+            BenchmarkData.insertCourses(connection, COURSES);
+        }
+
+        // 与 application.properties 中的 MyBatis 配置保持一致
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeHandlerRegistry().register("com.no99.edunexuscourse_management.config");
+        configuration.addMapper(CourseMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Benchmark
+    public List<Course> findAll() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(CourseMapper.class).findAll();
+        }
+    }
+
+    @Benchmark
+    public Course findById() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(CourseMapper.class).findById(COURSES / 2);
+        }
+    }
+}
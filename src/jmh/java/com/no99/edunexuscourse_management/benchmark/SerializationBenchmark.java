@@ -0,0 +1,73 @@
+package com.no99.edunexuscourse_management.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.CourseRequest;
+import com.no99.edunexuscourse_management.entity.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON序列化及请求DTO转换基准测试
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<Course>> response;
+    private CourseRequest request;
+    private Course course;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 与应用中 Spring Boot 配置的 ObjectMapper 一致（含 blackbird 模块和非空字段序列化）
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        response = ApiResponse.success(BenchmarkData.courses(size));
+
+        request = new CourseRequest();
+        request.setTitle("Java程序设计");
+        request.setCode("CS101");
+        request.setDescription("面向对象编程、集合框架与并发编程基础");
+        request.setInstructorId(1);
+        request.setCredits(3);
+        request.setMaxStudents(100);
+        request.setIsPublic(true);
+        request.setStatus("published");
+        request.setStartDate(LocalDate.of(2024, 2, 26));
+        request.setEndDate(LocalDate.of(2024, 6, 30));
+        course = BenchmarkData.courses(1).get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeCourseList() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Course courseRequestToEntity() {
+        return request.toEntity();
+    }
+
+    @Benchmark
+    public Course courseRequestUpdateEntity() {
+        request.updateEntity(course);
+        return course;
+    }
+}
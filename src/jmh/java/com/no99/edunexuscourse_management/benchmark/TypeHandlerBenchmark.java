@@ -0,0 +1,78 @@
+package com.no99.edunexuscourse_management.benchmark;
+
+import com.no99.edunexuscourse_management.config.CourseStatusTypeHandler;
+import com.no99.edunexuscourse_management.config.EnrollmentRoleTypeHandler;
+import com.no99.edunexuscourse_management.config.EnrollmentStatusTypeHandler;
+import com.no99.edunexuscourse_management.config.UserRoleTypeHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 枚举类型处理器基准测试
+ * 每次读取都从固定的取值中轮换，模拟结果集逐行读取枚举列
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TypeHandlerBenchmark {
+
+    private final CourseStatusTypeHandler courseStatusHandler = new CourseStatusTypeHandler();
+    private final EnrollmentStatusTypeHandler enrollmentStatusHandler = new EnrollmentStatusTypeHandler();
+    private final EnrollmentRoleTypeHandler enrollmentRoleHandler = new EnrollmentRoleTypeHandler();
+    private final UserRoleTypeHandler userRoleHandler = new UserRoleTypeHandler();
+
+    private ResultSet courseStatuses;
+    private ResultSet enrollmentStatuses;
+    private ResultSet enrollmentRoles;
+    private ResultSet userRoles;
+
+    @Setup
+    public void setUp() {
+        courseStatuses = resultSetOf("draft", "published", "archived");
+        enrollmentStatuses = resultSetOf("active", "dropped", "completed");
+        enrollmentRoles = resultSetOf("student", "ta");
+        userRoles = resultSetOf("student", "instructor", "admin");
+    }
+
+    @Benchmark
+    public Object courseStatus() throws SQLException {
+        return courseStatusHandler.getResult(courseStatuses, "status");
+    }
+
+    @Benchmark
+    public Object enrollmentStatus() throws SQLException {
+        return enrollmentStatusHandler.getResult(enrollmentStatuses, "enrollment_status");
+    }
+
+    @Benchmark
+    public Object enrollmentRole() throws SQLException {
+        return enrollmentRoleHandler.getResult(enrollmentRoles, "role");
+    }
+
+    @Benchmark
+    public Object userRole() throws SQLException {
+        return userRoleHandler.getResult(userRoles, "role");
+    }
+
+    /**
+     * 只实现 getString/wasNull 的结果集桩
+     */
+    private static ResultSet resultSetOf(String... values) {
+        int[] row = {0};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getString" -> {
+                        row[0] = (row[0] + 1) % values.length;
+                        yield values[row[0]];
+                    }
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -4,10 +4,12 @@ import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @MapperScan("com.no99.edunexuscourse_management.mapper")
 @EnableDiscoveryClient
+@EnableScheduling
 public class EduNexusCourseManagementApplication {
 
     public static void main(String[] args) {
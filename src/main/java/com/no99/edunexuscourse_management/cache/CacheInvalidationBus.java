@@ -0,0 +1,13 @@
+package com.no99.edunexuscourse_management.cache;
+
+/**
+ * 缓存失效广播
+ * 本节点的缓存由调用方直接失效，广播只负责通知其他节点；调用方应在事务提交后发布
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * 发布一条缓存失效消息
+     */
+    void publish(CacheRegion region, Integer key);
+}
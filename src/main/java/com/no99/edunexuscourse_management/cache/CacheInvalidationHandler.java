@@ -0,0 +1,62 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import com.no99.edunexuscourse_management.search.CourseSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 处理其他节点广播的缓存失效消息
+ */
+@Component
+public class CacheInvalidationHandler {
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private PublishedModuleCache publishedModuleCache;
+
+    @Autowired
+    private EnrollmentCounter enrollmentCounter;
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    /**
+     * 使本节点对应的缓存失效
+     */
+    public void apply(CacheRegion region, Collection<Integer> keys) {
+        for (Integer key : keys) {
+            switch (region) {
+                case COURSE -> refreshCourse(key);
+                case PUBLISHED_MODULES -> publishedModuleCache.invalidate(key);
+                case USER_ENROLLMENTS -> enrollmentIndex.reloadUser(key);
+            }
+        }
+    }
+
+    /**
+     * 课程缓存失效，并按数据库中的最新数据同步搜索索引
+     */
+    private void refreshCourse(Integer courseId) {
+        courseCache.invalidate(courseId);
+        Course course = courseMapper.findById(courseId);
+        if (course == null) {
+            courseSearchIndex.remove(courseId);
+            enrollmentCounter.invalidate(courseId);
+            enrollmentIndex.removeCourse(courseId);
+        } else {
+            courseSearchIndex.index(course);
+        }
+    }
+}
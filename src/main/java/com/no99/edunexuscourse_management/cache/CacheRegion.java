@@ -0,0 +1,13 @@
+package com.no99.edunexuscourse_management.cache;
+
+/**
+ * 需要跨节点失效的本地缓存区域
+ */
+public enum CacheRegion {
+    // 课程缓存及搜索索引，键为课程ID
+    COURSE,
+    // 已发布模块列表缓存，键为课程ID
+    PUBLISHED_MODULES,
+    // 注册关系索引，键为用户ID
+    USER_ENROLLMENTS
+}
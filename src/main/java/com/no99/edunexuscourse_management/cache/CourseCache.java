@@ -0,0 +1,83 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 课程读穿透缓存
+ * 位于 CourseMapper.findById 之前，按容量和写入时间淘汰，命中率等指标通过 actuator 的 cache.* 指标暴露
+ * 缓存的是加载中的 future，数据库查询在调用线程、缓存锁之外执行，虚拟线程加载时不会钉住载体线程
+ */
+@Component
+public class CourseCache {
+
+    public static final String CACHE_NAME = "courses";
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${course.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${course.cache.ttl:10m}")
+    private Duration ttl;
+
+    private AsyncCache<Integer, Course> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 获取课程，未命中时从数据库加载
+     * 返回副本，调用方可以自由修改；课程不存在时返回null且不缓存
+     */
+    public Course get(Integer id) {
+        CompletableFuture<Course> created = new CompletableFuture<>();
+        CompletableFuture<Course> future = cache.get(id, (key, executor) -> created);
+        if (future == created) {
+            // 由首个未命中的线程加载，其余线程等待同一个 future；加载期间被失效则结果不会写回缓存
+            try {
+                created.complete(courseMapper.findById(id));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        Course course;
+        try {
+            course = future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return course == null ? null : new Course(course);
+    }
+
+    /**
+     * 使课程缓存失效
+     */
+    public void invalidate(Integer id) {
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -0,0 +1,156 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.no99.edunexuscourse_management.dto.CourseEnrollmentCount;
+import com.no99.edunexuscourse_management.mapper.EnrollmentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 课程有效注册人数计数器
+ * 首次访问时从数据库加载，之后由 EnrollmentService 在注册状态变化提交后增量维护，
+ * 并定期与数据库的实际人数对账修正偏差。
+ * 加载和对账都以差值合入计数，查询期间到达的增量不会被覆盖
+ */
+@Component
+public class EnrollmentCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentCounter.class);
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    @Autowired
+    private EnrollmentMapper enrollmentMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Integer, CourseCount> counts = new ConcurrentHashMap<>();
+
+    private Counter driftCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("enrollment.counter.size", counts, Map::size)
+                .description("已加载注册人数的课程数")
+                .register(meterRegistry);
+        driftCounter = Counter.builder("enrollment.counter.drift")
+                .description("对账时修正的课程计数次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取课程有效注册人数
+     */
+    public int get(Integer courseId) {
+        CourseCount count = counts.get(courseId);
+        if (count == null) {
+            // 先登记再查询：查询期间到达的增量记在计数上，查询结果以加法合入
+            CourseCount created = new CourseCount();
+            count = counts.putIfAbsent(courseId, created);
+            if (count == null) {
+                load(courseId, created);
+                return created.value.get();
+            }
+        }
+        // 其他线程正在加载时等待加载完成
+        count.loaded.join();
+        return count.value.get();
+    }
+
+    private void load(Integer courseId, CourseCount count) {
+        try {
+            count.value.addAndGet(enrollmentMapper.countByCourseId(courseId));
+            count.loaded.complete(null);
+        } catch (RuntimeException e) {
+            counts.remove(courseId, count);
+            count.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 调整课程注册人数，未加载的课程忽略（下次访问时从数据库加载）
+     * 正在加载的课程同样记录，加载结果合入后仍然有效
+     */
+    public void add(Integer courseId, int delta) {
+        CourseCount count = counts.get(courseId);
+        if (count != null) {
+            count.value.addAndGet(delta);
+        }
+    }
+
+    /**
+     * 移除课程计数
+     */
+    public void invalidate(Integer courseId) {
+        counts.remove(courseId);
+    }
+
+    /**
+     * 定期与数据库对账，修正已加载课程的计数偏差
+     * 按查询前的计数快照计算差值后累加，查询期间的增量保留
+     */
+    @Scheduled(fixedDelayString = "${enrollment.counter.reconcile-interval-ms:300000}",
+               initialDelayString = "${enrollment.counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Integer> courseIds = new ArrayList<>(counts.keySet());
+        int corrected = 0;
+        for (int i = 0; i < courseIds.size(); i += RECONCILE_CHUNK_SIZE) {
+            List<Integer> chunk = courseIds.subList(i, Math.min(i + RECONCILE_CHUNK_SIZE, courseIds.size()));
+            Map<Integer, CourseCount> loaded = new HashMap<>();
+            Map<Integer, Integer> snapshots = new HashMap<>();
+            for (Integer courseId : chunk) {
+                CourseCount count = counts.get(courseId);
+                if (count != null && count.isLoaded()) {
+                    loaded.put(courseId, count);
+                    snapshots.put(courseId, count.value.get());
+                }
+            }
+            if (snapshots.isEmpty()) {
+                continue;
+            }
+            Map<Integer, Integer> actual = new HashMap<>();
+            for (CourseEnrollmentCount row : enrollmentMapper.countActiveByCourseIds(snapshots.keySet())) {
+                actual.put(row.getCourseId(), row.getActiveCount());
+            }
+            for (Map.Entry<Integer, Integer> snapshot : snapshots.entrySet()) {
+                int drift = actual.getOrDefault(snapshot.getKey(), 0) - snapshot.getValue();
+                CourseCount count = loaded.get(snapshot.getKey());
+                // 对账期间被移除或重新加载的课程不修正
+                if (drift != 0 && counts.get(snapshot.getKey()) == count) {
+                    count.value.addAndGet(drift);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            driftCounter.increment(corrected);
+            log.info("注册人数对账完成，修正 {} 门课程的计数", corrected);
+        }
+    }
+
+    private static final class CourseCount {
+
+        private final AtomicInteger value = new AtomicInteger();
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+        private boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.no99.edunexuscourse_management.entity.Enrollment;
+import com.no99.edunexuscourse_management.mapper.EnrollmentMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 有效注册关系的内存索引（用户ID -> 有序的课程ID数组，课程ID -> 有序的用户ID数组）
+ * 应用启动后从数据库加载，之后由 EnrollmentService 在注册状态变化提交后维护，
+ * 用于回答"用户是否注册了课程"、"用户注册了其中哪些课程"和"其中哪些用户注册了课程"，不访问数据库。
+ * 数组按写时复制更新，读取无锁。注册关系总数超过 enrollment.index.max-entries 时停用索引，
+ * 查询回退到数据库；之后定期检查，注册关系数回落后重新加载。
+ */
+@Component
+public class EnrollmentIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentIndex.class);
+
+    private static final int[] EMPTY = new int[0];
+
+    @Autowired
+    private EnrollmentMapper enrollmentMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${enrollment.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${enrollment.index.max-entries:10000000}")
+    private long maxEntries;
+
+    private final ConcurrentHashMap<Integer, int[]> coursesByUser = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Integer, int[]> usersByCourse = new ConcurrentHashMap<>();
+
+    private final AtomicLong entries = new AtomicLong();
+
+    // 加载期间被移除的注册关系，加载时跳过数据库中读到的旧数据
+    private final Set<Long> removedDuringWarmUp = ConcurrentHashMap.newKeySet();
+
+    // 启动加载和定期重建互斥
+    private final ReentrantLock warmUpLock = new ReentrantLock();
+
+    // 重建在独立线程中执行，不占用共享的定时任务线程
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("enrollment-index-rebuild").daemon().factory());
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile boolean warmingUp;
+
+    private volatile boolean ready;
+
+    private volatile boolean disabled;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("enrollment.index.entries", entries, AtomicLong::get)
+                .description("注册关系索引中的注册关系数")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.index.users", coursesByUser, Map::size)
+                .description("注册关系索引中的用户数")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.index.courses", usersByCourse, Map::size)
+                .description("注册关系索引中的课程数")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .description("注册关系索引是否可用（0表示查询回退到数据库）")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动后加载全部有效注册关系
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || !warmUpLock.tryLock()) {
+            return;
+        }
+        warmingUp = true;
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Cursor<Enrollment> cursor = enrollmentMapper.streamActive()) {
+                    for (Enrollment enrollment : cursor) {
+                        if (disabled) {
+                            return;
+                        }
+                        if (!removedDuringWarmUp.contains(pair(enrollment.getUserId(), enrollment.getCourseId()))) {
+                            insert(enrollment.getUserId(), enrollment.getCourseId());
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!disabled) {
+                ready = true;
+                log.info("注册关系索引加载完成，共 {} 名用户 {} 门课程 {} 条注册关系",
+                        coursesByUser.size(), usersByCourse.size(), entries.get());
+            }
+        } catch (RuntimeException e) {
+            clear();
+            log.warn("注册关系索引加载失败，注册状态查询将回退到数据库", e);
+        } finally {
+            warmingUp = false;
+            removedDuringWarmUp.clear();
+            warmUpLock.unlock();
+        }
+    }
+
+    /**
+     * 索引不可用（超出容量停用或加载失败）时定期检查，注册关系数不超过上限时重新加载
+     * 检查和加载在重建线程中执行，定时任务线程只负责提交
+     */
+    @Scheduled(fixedDelayString = "${enrollment.index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${enrollment.index.rebuild-interval-ms:3600000}")
+    public void scheduleRebuild() {
+        if (!enabled || isReady() || warmingUp || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuildIfUnavailable();
+            } catch (RuntimeException e) {
+                log.warn("注册关系索引重建检查失败", e);
+            } finally {
+                rebuildPending.set(false);
+            }
+        });
+    }
+
+    private void rebuildIfUnavailable() {
+        if (isReady() || warmingUp) {
+            return;
+        }
+        long active = enrollmentMapper.countActive();
+        if (active > maxEntries) {
+            log.info("有效注册关系数 {} 仍超过上限 {}，注册关系索引保持停用", active, maxEntries);
+            return;
+        }
+        ready = false;
+        disabled = false;
+        clear();
+        log.info("重新加载注册关系索引，有效注册关系数 {}", active);
+        warmUp();
+    }
+
+    /**
+     * 索引是否可用
+     */
+    public boolean isReady() {
+        return ready && !disabled;
+    }
+
+    /**
+     * 用户是否有效注册了课程
+     */
+    public boolean contains(Integer userId, Integer courseId) {
+        int[] courseIds = coursesByUser.get(userId);
+        return courseIds != null && Arrays.binarySearch(courseIds, courseId) >= 0;
+    }
+
+    /**
+     * 返回给定课程中用户有效注册的课程ID，保持传入顺序
+     */
+    public List<Integer> filterEnrolled(Integer userId, Collection<Integer> courseIds) {
+        return filter(coursesByUser.get(userId), courseIds);
+    }
+
+    /**
+     * 返回给定用户中有效注册了课程的用户ID，保持传入顺序
+     */
+    public List<Integer> filterEnrolledUsers(Integer courseId, Collection<Integer> userIds) {
+        return filter(usersByCourse.get(courseId), userIds);
+    }
+
+    private static List<Integer> filter(int[] sorted, Collection<Integer> ids) {
+        List<Integer> result = new ArrayList<>();
+        if (sorted == null) {
+            return result;
+        }
+        for (Integer id : ids) {
+            if (id != null && Arrays.binarySearch(sorted, id) >= 0) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 添加注册关系
+     */
+    public void add(Integer userId, Integer courseId) {
+        if (enabled && !disabled) {
+            removedDuringWarmUp.remove(pair(userId, courseId));
+            insert(userId, courseId);
+        }
+    }
+
+    /**
+     * 移除注册关系
+     */
+    public void remove(Integer userId, Integer courseId) {
+        if (!enabled || disabled) {
+            return;
+        }
+        if (warmingUp) {
+            removedDuringWarmUp.add(pair(userId, courseId));
+        }
+        delete(userId, courseId);
+    }
+
+    /**
+     * 移除课程的全部注册关系（课程删除时使用）
+     */
+    public void removeCourse(Integer courseId) {
+        int[] userIds = usersByCourse.get(courseId);
+        if (userIds == null) {
+            return;
+        }
+        for (int userId : userIds) {
+            remove(userId, courseId);
+        }
+    }
+
+    /**
+     * 按数据库重新加载用户的注册关系（其他节点修改了该用户的注册状态时使用）
+     */
+    public void reloadUser(Integer userId) {
+        if (!enabled || disabled) {
+            return;
+        }
+        int[] loaded = enrollmentMapper.findActiveCourseIdsByUserId(userId).stream()
+                .mapToInt(Integer::intValue).distinct().sorted().toArray();
+        int[][] previous = new int[1][];
+        coursesByUser.compute(userId, (key, courseIds) -> {
+            previous[0] = courseIds == null ? EMPTY : courseIds;
+            entries.addAndGet(loaded.length - previous[0].length);
+            return loaded.length == 0 ? null : loaded;
+        });
+        for (int courseId : previous[0]) {
+            if (Arrays.binarySearch(loaded, courseId) < 0) {
+                usersByCourse.computeIfPresent(courseId, (key, userIds) -> without(userIds, userId));
+            }
+        }
+        for (int courseId : loaded) {
+            if (Arrays.binarySearch(previous[0], courseId) < 0) {
+                usersByCourse.compute(courseId, (key, userIds) -> with(userIds, userId));
+            }
+        }
+    }
+
+    private void insert(Integer userId, Integer courseId) {
+        coursesByUser.compute(userId, (key, courseIds) -> {
+            int[] updated = with(courseIds, courseId);
+            if (updated != courseIds) {
+                entries.incrementAndGet();
+            }
+            return updated;
+        });
+        usersByCourse.compute(courseId, (key, userIds) -> with(userIds, userId));
+        if (entries.get() > maxEntries) {
+            disable();
+        }
+    }
+
+    private void delete(Integer userId, Integer courseId) {
+        coursesByUser.computeIfPresent(userId, (key, courseIds) -> {
+            int[] updated = without(courseIds, courseId);
+            if (updated != courseIds) {
+                entries.decrementAndGet();
+            }
+            return updated;
+        });
+        usersByCourse.computeIfPresent(courseId, (key, userIds) -> without(userIds, userId));
+    }
+
+    /**
+     * 返回加入 value 后的有序数组，已包含时返回原数组
+     */
+    private static int[] with(int[] sorted, int value) {
+        if (sorted == null) {
+            return new int[]{value};
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, updated, 0, insertAt);
+        updated[insertAt] = value;
+        System.arraycopy(sorted, insertAt, updated, insertAt + 1, sorted.length - insertAt);
+        return updated;
+    }
+
+    /**
+     * 返回去掉 value 后的有序数组，不包含时返回原数组，移除最后一个元素时返回null
+     */
+    private static int[] without(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return null;
+        }
+        int[] updated = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, updated, 0, index);
+        System.arraycopy(sorted, index + 1, updated, index, sorted.length - index - 1);
+        return updated;
+    }
+
+    /**
+     * 超出容量上限时停用索引并释放内存，由定期检查在注册关系数回落后重新加载
+     */
+    private void disable() {
+        if (!disabled) {
+            disabled = true;
+            clear();
+            log.warn("注册关系数超过上限 {}，停用注册关系索引，注册状态查询回退到数据库", maxEntries);
+        }
+    }
+
+    private void clear() {
+        coursesByUser.clear();
+        usersByCourse.clear();
+        entries.set(0);
+    }
+
+    private static long pair(Integer userId, Integer courseId) {
+        return ((long) userId << 32) | (courseId & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,18 @@
+package com.no99.edunexuscourse_management.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 单节点部署使用的缓存失效广播
+ * 本节点的缓存已由调用方直接失效，没有其他节点需要通知，发布的消息直接忽略
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.peer.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(CacheRegion region, Integer key) {
+        // 单节点无需广播
+    }
+}
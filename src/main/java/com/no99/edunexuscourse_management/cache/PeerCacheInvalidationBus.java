@@ -0,0 +1,256 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.no99.edunexuscourse_management.dto.CacheInvalidationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于服务发现的缓存失效广播
+ * 失效消息先在本地合并去重，定时批量 POST 到注册中心中同一服务的其他实例；
+ * 发送失败的消息按对端保留，随后续批次重发，连续失败超过 max-retries 次后丢弃并计入 cache.invalidation.dropped
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.peer.enabled", havingValue = "true")
+public class PeerCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PeerCacheInvalidationBus.class);
+
+    public static final String ENDPOINT = "/internal/cache/invalidations";
+
+    // 节点间共享密钥的请求头
+    public static final String TOKEN_HEADER = "X-Cache-Invalidation-Token";
+
+    private final String origin = UUID.randomUUID().toString();
+
+    @Autowired
+    private DiscoveryClient discoveryClient;
+
+    @Autowired
+    private ObjectProvider<Registration> registration;
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.application.name}")
+    private String serviceId;
+
+    @Value("${cache.invalidation.peer.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${cache.invalidation.peer.timeout:2s}")
+    private Duration timeout;
+
+    @Value("${cache.invalidation.peer.secret:}")
+    private String secret;
+
+    @Value("${cache.invalidation.peer.max-retries:10}")
+    private int maxRetries;
+
+    // 待发送的失效键，同一区域内重复的键只发送一次
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<CacheRegion, Set<Integer>> pending = new EnumMap<>(CacheRegion.class);
+
+    // 发送失败待重发的消息和连续失败次数，按对端地址区分；只在定时发送线程中访问
+    private final Map<URI, Map<CacheRegion, Set<Integer>>> retries = new HashMap<>();
+    private final Map<URI, Integer> failures = new HashMap<>();
+
+    private RestClient restClient;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("启用多节点缓存失效时必须配置 cache.invalidation.peer.secret");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) timeout.toMillis());
+        requestFactory.setReadTimeout((int) timeout.toMillis());
+        restClient = restClientBuilder.requestFactory(requestFactory).build();
+        sentCounter = Counter.builder("cache.invalidation.sent")
+                .description("发送给其他节点的缓存失效消息数")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("cache.invalidation.failed")
+                .description("发送失败的缓存失效消息数")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("cache.invalidation.dropped")
+                .description("重试耗尽后丢弃的缓存失效键数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本节点标识
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * 校验对端请求携带的共享密钥（定长比较）
+     */
+    public boolean isTrusted(String token) {
+        return token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 单条消息允许的最大键数
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public void publish(CacheRegion region, Integer key) {
+        lock.lock();
+        try {
+            pending.computeIfAbsent(region, r -> new HashSet<>()).add(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 定时发送合并后的失效消息
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.peer.flush-interval-ms:200}")
+    public void flush() {
+        Map<CacheRegion, Set<Integer>> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty() && retries.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new EnumMap<>(CacheRegion.class);
+        } finally {
+            lock.unlock();
+        }
+
+        List<ServiceInstance> peers = peers();
+        Set<URI> present = new HashSet<>();
+        for (ServiceInstance peer : peers) {
+            URI uri = peer.getUri();
+            present.add(uri);
+            Map<CacheRegion, Set<Integer>> messages = retries.remove(uri);
+            if (messages == null) {
+                messages = batch;
+            } else {
+                merge(messages, batch);
+            }
+            if (messages.isEmpty()) {
+                continue;
+            }
+            if (sendAll(peer, messages)) {
+                failures.remove(uri);
+            } else {
+                retryLater(uri, messages);
+            }
+        }
+        // 已下线的对端不再重发
+        retries.keySet().retainAll(present);
+        failures.keySet().retainAll(present);
+    }
+
+    private void retryLater(URI peer, Map<CacheRegion, Set<Integer>> messages) {
+        int failed = failures.merge(peer, 1, Integer::sum);
+        if (failed <= maxRetries) {
+            // 与本批次共用的集合需复制，后续合并不影响其他对端
+            Map<CacheRegion, Set<Integer>> copy = new EnumMap<>(CacheRegion.class);
+            merge(copy, messages);
+            retries.put(peer, copy);
+            return;
+        }
+        failures.remove(peer);
+        int keys = messages.values().stream().mapToInt(Set::size).sum();
+        droppedCounter.increment(keys);
+        log.error("向 {} 发送缓存失效消息连续失败 {} 次，丢弃 {} 个失效键", peer, failed, keys);
+    }
+
+    private static void merge(Map<CacheRegion, Set<Integer>> target, Map<CacheRegion, Set<Integer>> source) {
+        source.forEach((region, keys) -> target.computeIfAbsent(region, r -> new HashSet<>()).addAll(keys));
+    }
+
+    /**
+     * 向对端发送全部消息，遇到第一次失败即停止
+     */
+    private boolean sendAll(ServiceInstance peer, Map<CacheRegion, Set<Integer>> messages) {
+        for (Map.Entry<CacheRegion, Set<Integer>> entry : messages.entrySet()) {
+            List<Integer> keys = new ArrayList<>(entry.getValue());
+            for (int i = 0; i < keys.size(); i += maxBatchSize) {
+                CacheInvalidationMessage message = new CacheInvalidationMessage(origin, entry.getKey(),
+                        keys.subList(i, Math.min(i + maxBatchSize, keys.size())));
+                if (!send(peer, message)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean send(ServiceInstance peer, CacheInvalidationMessage message) {
+        try {
+            restClient.post()
+                    .uri(peer.getUri().resolve(ENDPOINT))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(TOKEN_HEADER, secret)
+                    .body(message)
+                    .retrieve()
+                    .toBodilessEntity();
+            sentCounter.increment();
+            return true;
+        } catch (RestClientException e) {
+            failedCounter.increment();
+            log.warn("向 {} 发送缓存失效消息失败: {}", peer.getUri(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 注册中心中除本节点外的同服务实例
+     */
+    private List<ServiceInstance> peers() {
+        Registration self = registration.getIfAvailable();
+        List<ServiceInstance> peers = new ArrayList<>();
+        for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+            if (self == null || !(self.getHost().equals(instance.getHost()) && self.getPort() == instance.getPort())) {
+                peers.add(instance);
+            }
+        }
+        return peers;
+    }
+}
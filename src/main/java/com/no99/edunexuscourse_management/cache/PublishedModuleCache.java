@@ -0,0 +1,87 @@
+package com.no99.edunexuscourse_management.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.no99.edunexuscourse_management.entity.Module;
+import com.no99.edunexuscourse_management.mapper.ModuleMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 课程已发布模块列表缓存
+ * 同一课程并发未命中时只有一个线程查询数据库，其余线程等待同一次加载的结果；
+ * 命中率通过 cache.* 指标（cache=publishedModules）暴露，加载耗时通过 module.cache.load 暴露
+ */
+@Component
+public class PublishedModuleCache {
+
+    public static final String CACHE_NAME = "publishedModules";
+
+    @Autowired
+    private ModuleMapper moduleMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${module.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${module.cache.ttl:10m}")
+    private Duration ttl;
+
+    private AsyncCache<Integer, List<Module>> cache;
+
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        loadTimer = Timer.builder("module.cache.load")
+                .description("已发布模块列表未命中缓存时的加载耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取课程按顺序排列的已发布模块，返回的列表不可修改
+     */
+    public List<Module> get(Integer courseId) {
+        CompletableFuture<List<Module>> created = new CompletableFuture<>();
+        CompletableFuture<List<Module>> future = cache.get(courseId, (key, executor) -> created);
+        if (future == created) {
+            // 在缓存锁之外加载；加载期间被失效则结果不会写回缓存
+            try {
+                created.complete(loadTimer.record(() -> List.copyOf(moduleMapper.findPublishedByCourseId(courseId))));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 使课程的已发布模块缓存失效
+     */
+    public void invalidate(Integer courseId) {
+        cache.synchronous().invalidate(courseId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.no99.edunexuscourse_management.config;
+
+import com.no99.edunexuscourse_management.entity.CodedEnum;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Function;
+
+/**
+ * 字符串编码枚举的通用类型处理器
+ * 子类只需提供枚举的 fromValue 方法；抽象类不会被 MyBatis 的包扫描注册
+ */
+public abstract class CodedEnumTypeHandler<E extends Enum<E> & CodedEnum> extends BaseTypeHandler<E> {
+
+    private final Function<String, E> decoder;
+
+    protected CodedEnumTypeHandler(Function<String, E> decoder) {
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, E parameter, JdbcType jdbcType) throws SQLException {
+        ps.setString(i, parameter.getValue());
+    }
+
+    @Override
+    public E getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decode(rs.getString(columnName));
+    }
+
+    @Override
+    public E getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decode(rs.getString(columnIndex));
+    }
+
+    @Override
+    public E getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getString(columnIndex));
+    }
+
+    private E decode(String value) {
+        return value == null ? null : decoder.apply(value);
+    }
+}
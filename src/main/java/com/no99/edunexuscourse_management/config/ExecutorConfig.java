@@ -0,0 +1,48 @@
+package com.no99.edunexuscourse_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 线程池配置类
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 课程详情聚合查询线程池，用于并行执行互不依赖的查询
+     */
+    @Bean(name = "courseDetailExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor courseDetailExecutor(@Value("${course.detail.executor.core-size:8}") int coreSize,
+                                         @Value("${course.detail.executor.max-size:32}") int maxSize,
+                                         @Value("${course.detail.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("course-detail-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 虚拟线程模式下的课程详情执行器，每个任务一个虚拟线程
+     * 并发数仍按 max-size 限制，避免聚合查询占满连接池
+     */
+    @Bean(name = "courseDetailExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualCourseDetailExecutor(@Value("${course.detail.executor.max-size:32}") int maxSize) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("course-detail-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxSize);
+        return executor;
+    }
+}
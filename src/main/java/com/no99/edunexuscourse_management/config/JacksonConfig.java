@@ -0,0 +1,22 @@
+package com.no99.edunexuscourse_management.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson配置类
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 用 LambdaMetafactory 生成的访问器代替反射读写属性，降低大列表的序列化开销
+     * Spring Boot 会自动注册容器中的 Module
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,221 @@
+package com.no99.edunexuscourse_management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 语句耗时统计拦截器
+ * 按 Mapper 方法记录耗时直方图（mybatis.statement）和返回/影响行数（mybatis.statement.rows），
+ * 超过阈值的语句计入 mybatis.statement.slow 并以 WARN 级别输出SQL样本。
+ * 游标查询从执行到关闭游标整体计时，行数为实际读取的行数
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MapperMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowThresholdNanos;
+
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry,
+                                    @Value("${mybatis.metrics.slow-query-threshold:500ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(statement, System.nanoTime() - start, -1, true);
+            throw e;
+        }
+        if (result instanceof Cursor<?> cursor) {
+            return new MeteredCursor<>(cursor, statement, parameter, start);
+        }
+        complete(statement, parameter, System.nanoTime() - start, rowCount(result));
+        return result;
+    }
+
+    private void complete(MappedStatement statement, Object parameter, long elapsed, int rows) {
+        record(statement, elapsed, rows, false);
+        if (elapsed >= slowThresholdNanos) {
+            log.warn("慢SQL {} 耗时 {} ms: {}", statement.getId(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    statement.getBoundSql(parameter).getSql().replaceAll("\\s+", " "));
+        }
+    }
+
+    private void record(MappedStatement statement, long elapsed, int rows, boolean error) {
+        StatementMeters statementMeters = meters.computeIfAbsent(statement.getId(), id -> new StatementMeters(statement));
+        (error ? statementMeters.errorTimer : statementMeters.successTimer).record(elapsed, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            statementMeters.rows.record(rows);
+        }
+        if (elapsed >= slowThresholdNanos) {
+            statementMeters.slow.increment();
+        }
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Integer updated) {
+            return updated;
+        }
+        return -1;
+    }
+
+    /**
+     * 语句ID去掉包名，如 CourseMapper.findById
+     */
+    private static String statementName(String id) {
+        int method = id.lastIndexOf('.');
+        int type = id.lastIndexOf('.', method - 1);
+        return type < 0 ? id : id.substring(type + 1);
+    }
+
+    private final class StatementMeters {
+
+        private final Timer successTimer;
+        private final Timer errorTimer;
+        private final DistributionSummary rows;
+        private final Counter slow;
+
+        private StatementMeters(MappedStatement statement) {
+            String name = statementName(statement.getId());
+            String type = statement.getSqlCommandType().name().toLowerCase(Locale.ROOT);
+            successTimer = timer(name, type, "success");
+            errorTimer = timer(name, type, "error");
+            rows = DistributionSummary.builder("mybatis.statement.rows")
+                    .description("Mapper 语句返回或影响的行数")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .register(meterRegistry);
+            slow = Counter.builder("mybatis.statement.slow")
+                    .description("超过慢查询阈值的 Mapper 语句执行次数")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String name, String type, String outcome) {
+            return Timer.builder("mybatis.statement")
+                    .description("Mapper 语句执行耗时")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 包装游标，关闭时记录从执行到关闭的耗时和读取的行数
+     */
+    private final class MeteredCursor<T> implements Cursor<T> {
+
+        private final Cursor<T> delegate;
+        private final MappedStatement statement;
+        private final Object parameter;
+        private final long start;
+        private int rows;
+        private boolean recorded;
+
+        private MeteredCursor(Cursor<T> delegate, MappedStatement statement, Object parameter, long start) {
+            this.delegate = delegate;
+            this.statement = statement;
+            this.parameter = parameter;
+            this.start = start;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> iterator = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    T row = iterator.next();
+                    rows++;
+                    return row;
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                if (!recorded) {
+                    recorded = true;
+                    complete(statement, parameter, System.nanoTime() - start, rows);
+                }
+            }
+        }
+    }
+}
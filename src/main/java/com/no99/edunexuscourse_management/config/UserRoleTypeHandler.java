@@ -1,39 +1,13 @@
 package com.no99.edunexuscourse_management.config;
 
-import org.apache.ibatis.type.BaseTypeHandler;
-import org.apache.ibatis.type.JdbcType;
 import com.no99.edunexuscourse_management.entity.User.UserRole;
 
-import java.sql.CallableStatement;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-
 /**
  * UserRole枚举类型处理器
  */
-public class UserRoleTypeHandler extends BaseTypeHandler<UserRole> {
-
-    @Override
-    public void setNonNullParameter(PreparedStatement ps, int i, UserRole parameter, JdbcType jdbcType) throws SQLException {
-        ps.setString(i, parameter.getValue());
-    }
-
-    @Override
-    public UserRole getNullableResult(ResultSet rs, String columnName) throws SQLException {
-        String value = rs.getString(columnName);
-        return value == null ? null : UserRole.fromValue(value);
-    }
-
-    @Override
-    public UserRole getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-        String value = rs.getString(columnIndex);
-        return value == null ? null : UserRole.fromValue(value);
-    }
+public class UserRoleTypeHandler extends CodedEnumTypeHandler<UserRole> {
 
-    @Override
-    public UserRole getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-        String value = cs.getString(columnIndex);
-        return value == null ? null : UserRole.fromValue(value);
+    public UserRoleTypeHandler() {
+        super(UserRole::fromValue);
     }
 }
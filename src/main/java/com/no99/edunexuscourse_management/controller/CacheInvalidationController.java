@@ -0,0 +1,49 @@
+package com.no99.edunexuscourse_management.controller;
+
+import com.no99.edunexuscourse_management.cache.CacheInvalidationHandler;
+import com.no99.edunexuscourse_management.cache.PeerCacheInvalidationBus;
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.CacheInvalidationMessage;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 接收其他节点广播的缓存失效消息（仅供集群内部调用）
+ * 请求必须携带节点间共享密钥，单条消息的键数不超过发送端的批量上限
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "cache.invalidation.peer.enabled", havingValue = "true")
+public class CacheInvalidationController {
+
+    @Autowired
+    private PeerCacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheInvalidationHandler cacheInvalidationHandler;
+
+    @PostMapping(PeerCacheInvalidationBus.ENDPOINT)
+    public ResponseEntity<ApiResponse<Void>> invalidate(
+            @RequestHeader(value = PeerCacheInvalidationBus.TOKEN_HEADER, required = false) String token,
+            @RequestBody CacheInvalidationMessage message) {
+        if (!cacheInvalidationBus.isTrusted(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.forbidden("无效的节点密钥"));
+        }
+        if (message.getKeys() != null && message.getKeys().size() > cacheInvalidationBus.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().body(ApiResponse.badRequest(
+                    "单条消息最多" + cacheInvalidationBus.getMaxBatchSize() + "个键"));
+        }
+        if (!cacheInvalidationBus.getOrigin().equals(message.getOrigin())
+                && message.getRegion() != null && message.getKeys() != null) {
+            cacheInvalidationHandler.apply(message.getRegion(), message.getKeys());
+        }
+        return ResponseEntity.ok(ApiResponse.success());
+    }
+}
@@ -0,0 +1,33 @@
+package com.no99.edunexuscourse_management.controller;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/**
+ * 条件GET请求的 ETag / Last-Modified 计算
+ * 配合 WebRequest.checkNotModified 使用，未修改时处理方法直接返回null，由Spring写出304
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    /**
+     * 由资源类型和版本字段拼接强ETag，如 "course-1-1718000000000"
+     */
+    static String etag(String resource, Object... versionParts) {
+        StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+        joiner.add(resource);
+        for (Object part : versionParts) {
+            joiner.add(part instanceof LocalDateTime time ? String.valueOf(lastModified(time)) : String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 转换为毫秒时间戳，时间为空时返回-1（不参与 Last-Modified 判断）
+     */
+    static long lastModified(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,8 +1,12 @@
 package com.no99.edunexuscourse_management.controller;
 
 import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.CourseDetail;
 import com.no99.edunexuscourse_management.dto.CourseRequest;
+import com.no99.edunexuscourse_management.dto.CursorPage;
 import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.idempotency.IdempotencyService;
+import com.no99.edunexuscourse_management.service.CourseDetailService;
 import com.no99.edunexuscourse_management.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,7 +14,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,6 +35,12 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseDetailService courseDetailService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * 创建课程
      */
@@ -36,16 +51,20 @@ public class CourseController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     @PostMapping
-    public ApiResponse<Course> createCourse(@Valid @RequestBody CourseRequest request) {
-        try {
-            Course course = request.toEntity();
-            Course createdCourse = courseService.createCourse(course);
-            return ApiResponse.success("课程创建成功", createdCourse);
-        } catch (IllegalArgumentException e) {
-            return ApiResponse.badRequest(e.getMessage());
-        } catch (Exception e) {
-            return ApiResponse.error("创建课程失败: " + e.getMessage());
-        }
+    public ApiResponse<Course> createCourse(@Valid @RequestBody CourseRequest request,
+                                            @Parameter(description = "幂等键，重试时携带相同的值直接返回首次成功的结果")
+                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "course", request, () -> {
+            try {
+                Course course = request.toEntity();
+                Course createdCourse = courseService.createCourse(course);
+                return ApiResponse.success("课程创建成功", createdCourse);
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.badRequest(e.getMessage());
+            } catch (Exception e) {
+                return ApiResponse.error("创建课程失败: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -54,13 +73,20 @@ public class CourseController {
     @Operation(summary = "根据ID获取课程", description = "通过课程ID获取课程详细信息")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "课程未修改"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "课程不存在"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     @GetMapping("/{id}")
-    public ApiResponse<Course> getCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer id) {
+    public ApiResponse<Course> getCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer id,
+                                         WebRequest webRequest) {
         try {
             Course course = courseService.getCourseById(id);
+            // 课程来自缓存，未修改时直接返回304，不再序列化
+            String etag = ConditionalGet.etag("course", id, course.getUpdatedAt());
+            if (webRequest.checkNotModified(etag, ConditionalGet.lastModified(course.getUpdatedAt()))) {
+                return null;
+            }
             return ApiResponse.success(course);
         } catch (RuntimeException e) {
             return ApiResponse.notFound(e.getMessage());
@@ -69,6 +95,27 @@ public class CourseController {
         }
     }
 
+    /**
+     * 获取课程详情
+     */
+    @Operation(summary = "获取课程详情", description = "一次返回课程及教师信息、已发布模块列表和有效注册人数")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "课程不存在"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/{id}/detail")
+    public ApiResponse<CourseDetail> getCourseDetail(@Parameter(description = "课程ID", required = true) @PathVariable Integer id) {
+        try {
+            CourseDetail detail = courseDetailService.getCourseDetail(id);
+            return ApiResponse.success(detail);
+        } catch (RuntimeException e) {
+            return ApiResponse.notFound(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取课程详情失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 获取所有课程
      */
@@ -87,6 +134,28 @@ public class CourseController {
         }
     }
 
+    /**
+     * 分页获取课程
+     */
+    @Operation(summary = "分页获取课程", description = "按创建时间倒序游标分页获取课程")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "分页参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/page")
+    public ApiResponse<CursorPage<Course>> getCoursePage(@Parameter(description = "分页游标，首页不传", required = false) @RequestParam(required = false) String cursor,
+                                                         @Parameter(description = "每页数量", required = false) @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Course> page = courseService.getCoursePage(cursor, size);
+            return ApiResponse.success(page);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取课程列表失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 根据教师ID获取课程
      */
@@ -105,6 +174,29 @@ public class CourseController {
         }
     }
 
+    /**
+     * 分页获取教师课程
+     */
+    @Operation(summary = "分页获取教师课程", description = "按创建时间倒序游标分页获取指定教师的课程")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "分页参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/instructor/{instructorId}/page")
+    public ApiResponse<CursorPage<Course>> getCoursePageByInstructor(@Parameter(description = "教师ID", required = true) @PathVariable Integer instructorId,
+                                                                     @Parameter(description = "分页游标，首页不传", required = false) @RequestParam(required = false) String cursor,
+                                                                     @Parameter(description = "每页数量", required = false) @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Course> page = courseService.getCoursePageByInstructor(instructorId, cursor, size);
+            return ApiResponse.success(page);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取教师课程失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 获取公开课程
      */
@@ -123,6 +215,28 @@ public class CourseController {
         }
     }
 
+    /**
+     * 分页获取公开课程
+     */
+    @Operation(summary = "分页获取公开课程", description = "按创建时间倒序游标分页获取公开课程")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "分页参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/public/page")
+    public ApiResponse<CursorPage<Course>> getPublicCoursePage(@Parameter(description = "分页游标，首页不传", required = false) @RequestParam(required = false) String cursor,
+                                                               @Parameter(description = "每页数量", required = false) @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Course> page = courseService.getPublicCoursePage(cursor, size);
+            return ApiResponse.success(page);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("获取公开课程失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 搜索课程
      */
@@ -141,6 +255,46 @@ public class CourseController {
         }
     }
 
+    /**
+     * 分页搜索课程
+     */
+    @Operation(summary = "分页搜索课程", description = "根据关键词游标分页搜索课程")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "分页参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/search/page")
+    public ApiResponse<CursorPage<Course>> searchCoursePage(@Parameter(description = "搜索关键词", required = false) @RequestParam(required = false) String keyword,
+                                                            @Parameter(description = "分页游标，首页不传", required = false) @RequestParam(required = false) String cursor,
+                                                            @Parameter(description = "每页数量", required = false) @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Course> page = courseService.searchCoursePage(keyword, cursor, size);
+            return ApiResponse.success(page);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("搜索课程失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 导出课程
+     */
+    @Operation(summary = "导出课程", description = "以NDJSON格式流式导出课程（每行一个课程JSON），可按教师或公开状态过滤")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "导出成功")
+    })
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@Parameter(description = "教师ID", required = false) @RequestParam(required = false) Integer instructorId,
+                                                               @Parameter(description = "是否只导出公开课程", required = false) @RequestParam(defaultValue = "false") boolean publicOnly) {
+        StreamingResponseBody body = out -> courseService.exportCourses(instructorId, publicOnly, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"courses.ndjson\"")
+                .body(body);
+    }
+
     /**
      * 更新课程
      */
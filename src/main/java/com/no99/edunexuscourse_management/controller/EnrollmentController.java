@@ -1,16 +1,30 @@
 package com.no99.edunexuscourse_management.controller;
 
 import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.BatchEnrollmentRequest;
+import com.no99.edunexuscourse_management.dto.BatchEnrollmentResult;
+import com.no99.edunexuscourse_management.dto.RosterEntry;
 import com.no99.edunexuscourse_management.entity.Enrollment;
+import com.no99.edunexuscourse_management.idempotency.IdempotencyService;
+import com.no99.edunexuscourse_management.service.EnrollmentPipeline;
 import com.no99.edunexuscourse_management.service.EnrollmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 课程注册控制器
@@ -24,6 +38,12 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectProvider<EnrollmentPipeline> enrollmentPipeline;
+
     /**
      * 注册课程
      */
@@ -36,16 +56,94 @@ public class EnrollmentController {
     })
     @PostMapping
     public ApiResponse<Enrollment> enrollCourse(@Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
-                                              @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId) {
+                                              @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId,
+                                              @Parameter(description = "幂等键，重试时携带相同的值直接返回首次成功的结果")
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "enrollment", List.of(userId, courseId), () -> {
+            try {
+                Enrollment enrollment = enrollmentService.enrollCourse(userId, courseId);
+                return ApiResponse.success("课程注册成功", enrollment);
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.badRequest(e.getMessage());
+            } catch (RuntimeException e) {
+                return ApiResponse.notFound(e.getMessage());
+            } catch (Exception e) {
+                return ApiResponse.error("注册课程失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 排队注册课程
+     */
+    @Operation(summary = "排队注册课程", description = "注册请求进入队列与其他请求合并提交，提交后返回该用户的处理结果")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "注册成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "已注册或课程人数已满"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "用户或课程不存在，或未启用排队注册"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "注册队列已满"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @PostMapping("/queued")
+    public CompletableFuture<ResponseEntity<ApiResponse<BatchEnrollmentResult.Item>>> enrollCourseQueued(
+            @Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
+            @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId) {
+        EnrollmentPipeline pipeline = enrollmentPipeline.getIfAvailable();
+        if (pipeline == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(ApiResponse.notFound("未启用排队注册")));
+        }
+        try {
+            return pipeline.submit(userId, courseId)
+                    .handle((outcome, error) -> ResponseEntity.ok(toQueuedResponse(userId, outcome, error)));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value())));
+        }
+    }
+
+    private static ApiResponse<BatchEnrollmentResult.Item> toQueuedResponse(Integer userId,
+                                                                            BatchEnrollmentResult.Outcome outcome,
+                                                                            Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                return ApiResponse.error(cause.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+            if (cause instanceof RuntimeException) {
+                return ApiResponse.notFound(cause.getMessage());
+            }
+            return ApiResponse.error("注册课程失败: " + cause.getMessage());
+        }
+        return switch (outcome) {
+            case ENROLLED -> ApiResponse.success("课程注册成功", new BatchEnrollmentResult.Item(userId, outcome));
+            case ALREADY_ENROLLED, DUPLICATE_IN_REQUEST -> ApiResponse.badRequest("用户已经注册了该课程");
+            case COURSE_FULL -> ApiResponse.badRequest("课程人数已满");
+            case USER_NOT_FOUND -> ApiResponse.notFound("用户不存在: " + userId);
+        };
+    }
+
+    /**
+     * 批量注册课程
+     */
+    @Operation(summary = "批量注册课程", description = "将一批用户注册到指定课程，返回每个用户的处理结果")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "处理完成"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "课程不存在"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @PostMapping("/batch")
+    public ApiResponse<BatchEnrollmentResult> enrollUsers(@Valid @RequestBody BatchEnrollmentRequest request) {
         try {
-            Enrollment enrollment = enrollmentService.enrollCourse(userId, courseId);
-            return ApiResponse.success("课程注册成功", enrollment);
+            BatchEnrollmentResult result = enrollmentService.enrollUsers(request.getCourseId(), request.getUserIds());
+            return ApiResponse.success("批量注册完成", result);
         } catch (IllegalArgumentException e) {
             return ApiResponse.badRequest(e.getMessage());
         } catch (RuntimeException e) {
             return ApiResponse.notFound(e.getMessage());
         } catch (Exception e) {
-            return ApiResponse.error("注册课程失败: " + e.getMessage());
+            return ApiResponse.error("批量注册失败: " + e.getMessage());
         }
     }
 
@@ -129,6 +227,24 @@ public class EnrollmentController {
         }
     }
 
+    /**
+     * 获取课程名单
+     */
+    @Operation(summary = "获取课程名单", description = "获取指定课程的有效注册学生名单，只包含名单页面需要的字段")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/course/{courseId}/roster")
+    public ApiResponse<List<RosterEntry>> getCourseRoster(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId) {
+        try {
+            List<RosterEntry> roster = enrollmentService.getCourseRoster(courseId);
+            return ApiResponse.success(roster);
+        } catch (Exception e) {
+            return ApiResponse.error("获取课程名单失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 检查用户是否已注册课程
      */
@@ -148,6 +264,48 @@ public class EnrollmentController {
         }
     }
 
+    /**
+     * 批量检查用户的课程注册状态
+     */
+    @Operation(summary = "批量检查用户的课程注册状态", description = "一次检查用户是否注册了多门课程，返回 课程ID -> 是否已注册")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "检查成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/check/courses")
+    public ApiResponse<Map<Integer, Boolean>> checkCourseEnrollments(@Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
+                                                                     @Parameter(description = "课程ID列表（逗号分隔，最多500个）", required = true) @RequestParam List<Integer> courseIds) {
+        try {
+            return ApiResponse.success(enrollmentService.checkCourseEnrollments(userId, courseIds));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("检查注册状态失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 批量检查课程的用户注册状态
+     */
+    @Operation(summary = "批量检查课程的用户注册状态", description = "一次检查多名用户是否注册了课程，返回 用户ID -> 是否已注册")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "检查成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "请求参数错误"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/check/users")
+    public ApiResponse<Map<Integer, Boolean>> checkUserEnrollments(@Parameter(description = "课程ID", required = true) @RequestParam Integer courseId,
+                                                                   @Parameter(description = "用户ID列表（逗号分隔，最多500个）", required = true) @RequestParam List<Integer> userIds) {
+        try {
+            return ApiResponse.success(enrollmentService.checkUserEnrollments(courseId, userIds));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("检查注册状态失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 获取课程注册人数
      */
@@ -1,6 +1,7 @@
 package com.no99.edunexuscourse_management.controller;
 
 import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.ModuleListVersion;
 import com.no99.edunexuscourse_management.entity.Module;
 import com.no99.edunexuscourse_management.service.ModuleService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,8 +11,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 课程模块控制器
@@ -73,11 +76,16 @@ public class ModuleController {
     @Operation(summary = "获取课程的所有模块", description = "获取指定课程的所有模块列表")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "模块列表未修改"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     @GetMapping("/course/{courseId}")
-    public ApiResponse<List<Module>> getModulesByCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId) {
+    public ApiResponse<List<Module>> getModulesByCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId,
+                                                        WebRequest webRequest) {
         try {
+            if (isModuleListNotModified(courseId, webRequest)) {
+                return null;
+            }
             List<Module> modules = moduleService.getModulesByCourse(courseId);
             return ApiResponse.success(modules);
         } catch (Exception e) {
@@ -91,12 +99,18 @@ public class ModuleController {
     @Operation(summary = "获取课程的已发布模块", description = "获取指定课程的所有已发布模块")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "获取成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "模块列表未修改"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     @GetMapping("/course/{courseId}/published")
-    public ApiResponse<List<Module>> getPublishedModulesByCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId) {
+    public ApiResponse<List<Module>> getPublishedModulesByCourse(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId,
+                                                                 WebRequest webRequest) {
         try {
             List<Module> modules = moduleService.getPublishedModulesByCourse(courseId);
+            // 列表来自缓存，ETag 由缓存的列表计算，命中时不访问数据库
+            if (webRequest.checkNotModified(publishedModulesEtag(courseId, modules))) {
+                return null;
+            }
             return ApiResponse.success(modules);
         } catch (Exception e) {
             return ApiResponse.error("获取已发布模块失败: " + e.getMessage());
@@ -178,8 +192,33 @@ public class ModuleController {
         try {
             moduleService.updateModuleOrder(moduleIds);
             return ApiResponse.<Void>success("模块排序更新成功", null);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
         } catch (Exception e) {
             return ApiResponse.error("更新模块排序失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 已发布模块列表的ETag，由模块ID、顺序和修改时间计算
+     * 取消发布会让模块离开列表、剩余模块的最近修改时间可能变早，因此只用ETag不用 Last-Modified
+     */
+    private static String publishedModulesEtag(Integer courseId, List<Module> modules) {
+        int hash = 1;
+        for (Module module : modules) {
+            hash = 31 * hash + Objects.hash(module.getId(), module.getOrderIndex(),
+                    ConditionalGet.lastModified(module.getUpdatedAt()));
+        }
+        return ConditionalGet.etag("published-modules", courseId, modules.size(), Integer.toHexString(hash));
+    }
+
+    /**
+     * 按模块数量和最近修改时间判断模块列表是否未修改，未修改时已设置304响应
+     * 删除最近修改的模块会让最近修改时间变早，因此只用ETag不用 Last-Modified
+     */
+    private boolean isModuleListNotModified(Integer courseId, WebRequest webRequest) {
+        ModuleListVersion version = moduleService.getModuleListVersion(courseId);
+        String etag = ConditionalGet.etag("modules", courseId, version.getModuleCount(), version.getLastModified());
+        return webRequest.checkNotModified(etag);
+    }
 }
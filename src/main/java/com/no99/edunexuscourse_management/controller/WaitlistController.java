@@ -0,0 +1,107 @@
+package com.no99.edunexuscourse_management.controller;
+
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import com.no99.edunexuscourse_management.dto.WaitlistPosition;
+import com.no99.edunexuscourse_management.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 课程候补名单控制器
+ */
+@RestController
+@RequestMapping("/api/enrollments/waitlist")
+@CrossOrigin(origins = "*")
+@Tag(name = "课程候补管理", description = "课程候补名单相关的API接口")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    /**
+     * 加入候补名单
+     */
+    @Operation(summary = "加入候补名单", description = "课程满员时加入候补名单，名额空出后按先后顺序自动注册")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "加入成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "已注册、已在候补名单中或课程尚有空位"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "用户或课程不存在"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @PostMapping
+    public ApiResponse<WaitlistPosition> joinWaitlist(@Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
+                                                      @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId) {
+        try {
+            WaitlistPosition position = waitlistService.joinWaitlist(userId, courseId);
+            return ApiResponse.success("已加入候补名单", position);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            return ApiResponse.notFound(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("加入候补名单失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询候补排位
+     */
+    @Operation(summary = "查询候补排位", description = "查询用户在课程候补名单中的位置（从1开始）")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "用户不在候补名单中"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @GetMapping("/position")
+    public ApiResponse<WaitlistPosition> getPosition(@Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
+                                                     @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId) {
+        try {
+            WaitlistPosition position = waitlistService.getPosition(userId, courseId);
+            return ApiResponse.success(position);
+        } catch (RuntimeException e) {
+            return ApiResponse.notFound(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("查询候补排位失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 退出候补名单
+     */
+    @Operation(summary = "退出候补名单", description = "用户退出指定课程的候补名单")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "退出成功"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "用户不在候补名单中"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    @DeleteMapping
+    public ApiResponse<Void> leaveWaitlist(@Parameter(description = "用户ID", required = true) @RequestParam Integer userId,
+                                           @Parameter(description = "课程ID", required = true) @RequestParam Integer courseId) {
+        try {
+            waitlistService.leaveWaitlist(userId, courseId);
+            return ApiResponse.<Void>success("已退出候补名单", null);
+        } catch (RuntimeException e) {
+            return ApiResponse.notFound(e.getMessage());
+        } catch (Exception e) {
+            return ApiResponse.error("退出候补名单失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取课程候补人数
+     */
+    @Operation(summary = "获取课程候补人数", description = "获取指定课程候补名单中的人数")
+    @GetMapping("/course/{courseId}/count")
+    public ApiResponse<Integer> getWaitlistCount(@Parameter(description = "课程ID", required = true) @PathVariable Integer courseId) {
+        try {
+            int count = waitlistService.getWaitlistCount(courseId);
+            return ApiResponse.success(count);
+        } catch (Exception e) {
+            return ApiResponse.error("获取候补人数失败: " + e.getMessage());
+        }
+    }
+}
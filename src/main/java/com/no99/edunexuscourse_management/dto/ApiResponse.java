@@ -1,8 +1,12 @@
 package com.no99.edunexuscourse_management.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * 统一API响应格式
+ * 响应外层字段始终输出（包括为null的data），不受全局的非空序列化配置影响
  */
+@JsonInclude(JsonInclude.Include.ALWAYS)
 public class ApiResponse<T> {
 
     private boolean success;
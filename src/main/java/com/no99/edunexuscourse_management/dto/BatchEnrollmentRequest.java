@@ -0,0 +1,42 @@
+package com.no99.edunexuscourse_management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 批量注册请求DTO
+ */
+public class BatchEnrollmentRequest {
+
+    @NotNull(message = "课程ID不能为空")
+    @Positive(message = "课程ID必须为正整数")
+    private Integer courseId;
+
+    @NotEmpty(message = "用户ID列表不能为空")
+    @Size(max = 5000, message = "单次最多注册5000名用户")
+    private List<@NotNull(message = "用户ID不能为空") Integer> userIds;
+
+    // 构造函数
+    public BatchEnrollmentRequest() {}
+
+    // Getters and Setters
+    public Integer getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Integer courseId) {
+        this.courseId = courseId;
+    }
+
+    public List<Integer> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Integer> userIds) {
+        this.userIds = userIds;
+    }
+}
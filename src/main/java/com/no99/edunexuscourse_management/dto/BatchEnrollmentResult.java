@@ -0,0 +1,98 @@
+package com.no99.edunexuscourse_management.dto;
+
+import java.util.List;
+
+/**
+ * 批量注册结果DTO
+ */
+public class BatchEnrollmentResult {
+
+    private Integer courseId;
+    private int enrolledCount;
+    private int rejectedCount;
+    private List<Item> results;
+
+    // 单个用户的处理结果
+    public enum Outcome {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        DUPLICATE_IN_REQUEST,
+        USER_NOT_FOUND,
+        COURSE_FULL
+    }
+
+    // 构造函数
+    public BatchEnrollmentResult() {}
+
+    public BatchEnrollmentResult(Integer courseId, List<Item> results) {
+        this.courseId = courseId;
+        this.results = results;
+        this.enrolledCount = (int) results.stream().filter(item -> item.getOutcome() == Outcome.ENROLLED).count();
+        this.rejectedCount = results.size() - enrolledCount;
+    }
+
+    // Getters and Setters
+    public Integer getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Integer courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(int enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(int rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    /**
+     * 单个用户的处理结果
+     */
+    public static class Item {
+
+        private Integer userId;
+        private Outcome outcome;
+
+        public Item() {}
+
+        public Item(Integer userId, Outcome outcome) {
+            this.userId = userId;
+            this.outcome = outcome;
+        }
+
+        public Integer getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Integer userId) {
+            this.userId = userId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public void setOutcome(Outcome outcome) {
+            this.outcome = outcome;
+        }
+    }
+}
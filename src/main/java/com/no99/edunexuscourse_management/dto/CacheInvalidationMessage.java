@@ -0,0 +1,50 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.no99.edunexuscourse_management.cache.CacheRegion;
+
+import java.util.Collection;
+
+/**
+ * 节点间的缓存失效消息
+ */
+public class CacheInvalidationMessage {
+
+    // 发送节点标识，节点收到自己发出的消息时忽略
+    private String origin;
+    private CacheRegion region;
+    private Collection<Integer> keys;
+
+    // 构造函数
+    public CacheInvalidationMessage() {}
+
+    public CacheInvalidationMessage(String origin, CacheRegion region, Collection<Integer> keys) {
+        this.origin = origin;
+        this.region = region;
+        this.keys = keys;
+    }
+
+    // Getters and Setters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public CacheRegion getRegion() {
+        return region;
+    }
+
+    public void setRegion(CacheRegion region) {
+        this.region = region;
+    }
+
+    public Collection<Integer> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Collection<Integer> keys) {
+        this.keys = keys;
+    }
+}
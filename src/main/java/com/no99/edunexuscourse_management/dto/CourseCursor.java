@@ -0,0 +1,58 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.no99.edunexuscourse_management.entity.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 课程列表游标
+ * 对客户端不透明，内容为最后一条记录的 (created_at, id)
+ */
+public class CourseCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final Integer id;
+
+    public CourseCursor(LocalDateTime createdAt, Integer id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * 以课程的位置生成游标
+     */
+    public static String encode(Course course) {
+        String raw = course.getCreatedAt() + SEPARATOR + course.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，为空时返回null表示第一页
+     */
+    public static CourseCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new CourseCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Integer.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
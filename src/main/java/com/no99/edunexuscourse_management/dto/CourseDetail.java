@@ -0,0 +1,51 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.entity.Module;
+
+import java.util.List;
+
+/**
+ * 课程详情页聚合数据DTO
+ * 包含课程（含教师信息）、按顺序排列的已发布模块和有效注册人数
+ */
+public class CourseDetail {
+
+    private Course course;
+    private List<Module> modules;
+    private int enrollmentCount;
+
+    // 构造函数
+    public CourseDetail() {}
+
+    public CourseDetail(Course course, List<Module> modules, int enrollmentCount) {
+        this.course = course;
+        this.modules = modules;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    // Getters and Setters
+    public Course getCourse() {
+        return course;
+    }
+
+    public void setCourse(Course course) {
+        this.course = course;
+    }
+
+    public List<Module> getModules() {
+        return modules;
+    }
+
+    public void setModules(List<Module> modules) {
+        this.modules = modules;
+    }
+
+    public int getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(int enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+}
@@ -0,0 +1,30 @@
+package com.no99.edunexuscourse_management.dto;
+
+/**
+ * 课程有效注册人数统计结果
+ */
+public class CourseEnrollmentCount {
+
+    private Integer courseId;
+    private int activeCount;
+
+    // 构造函数
+    public CourseEnrollmentCount() {}
+
+    // Getters and Setters
+    public Integer getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Integer courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public void setActiveCount(int activeCount) {
+        this.activeCount = activeCount;
+    }
+}
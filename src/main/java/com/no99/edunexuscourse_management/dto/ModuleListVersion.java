@@ -0,0 +1,32 @@
+package com.no99.edunexuscourse_management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 课程模块列表的版本信息（模块数量和最近修改时间），用于条件请求
+ */
+public class ModuleListVersion {
+
+    private int moduleCount;
+    private LocalDateTime lastModified;
+
+    // 构造函数
+    public ModuleListVersion() {}
+
+    // Getters and Setters
+    public int getModuleCount() {
+        return moduleCount;
+    }
+
+    public void setModuleCount(int moduleCount) {
+        this.moduleCount = moduleCount;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+}
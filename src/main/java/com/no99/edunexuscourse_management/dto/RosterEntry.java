@@ -0,0 +1,92 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.no99.edunexuscourse_management.entity.Enrollment.EnrollmentRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * 课程名单条目DTO
+ * 名单页面只需要的注册和学生字段，不包含嵌套的 User/Course 对象
+ */
+public class RosterEntry {
+
+    private Integer enrollmentId;
+    private Integer userId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private EnrollmentRole role;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime enrolledAt;
+
+    // 构造函数
+    public RosterEntry() {}
+
+    // Getters and Setters
+    public Integer getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Integer enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public EnrollmentRole getRole() {
+        return role;
+    }
+
+    public void setRole(EnrollmentRole role) {
+        this.role = role;
+    }
+
+    public LocalDateTime getEnrolledAt() {
+        return enrolledAt;
+    }
+
+    public void setEnrolledAt(LocalDateTime enrolledAt) {
+        this.enrolledAt = enrolledAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 候补名单排位DTO，position 从1开始
+ * 前方人数超过统计上限时 exact 为 false，position 为上限+1，表示排在该名次或之后
+ */
+public class WaitlistPosition {
+
+    private Integer courseId;
+    private Integer userId;
+    private int position;
+    private boolean exact;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime joinedAt;
+
+    // 构造函数
+    public WaitlistPosition() {}
+
+    public WaitlistPosition(Integer courseId, Integer userId, int position, boolean exact, LocalDateTime joinedAt) {
+        this.courseId = courseId;
+        this.userId = userId;
+        this.position = position;
+        this.exact = exact;
+        this.joinedAt = joinedAt;
+    }
+
+    // Getters and Setters
+    public Integer getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Integer courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+}
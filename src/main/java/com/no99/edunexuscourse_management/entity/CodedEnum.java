@@ -0,0 +1,27 @@
+package com.no99.edunexuscourse_management.entity;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 以字符串编码存储在数据库中的枚举
+ */
+public interface CodedEnum {
+
+    /**
+     * 数据库中的编码值
+     */
+    String getValue();
+
+    /**
+     * 构建编码值到枚举常量的查找表，供枚举在类初始化时调用一次
+     */
+    static <E extends Enum<E> & CodedEnum> Map<String, E> index(E[] constants) {
+        Map<String, E> byValue = new HashMap<>(constants.length * 2);
+        for (E constant : constants) {
+            byValue.put(constant.getValue(), constant);
+        }
+        return Collections.unmodifiableMap(byValue);
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * 课程实体类
@@ -54,28 +55,30 @@ public class Course {
     private User instructor;
 
     // 课程状态枚举
-    public enum CourseStatus {
+    public enum CourseStatus implements CodedEnum {
         DRAFT("draft"),
         PUBLISHED("published"),
         ARCHIVED("archived");
 
+        private static final Map<String, CourseStatus> BY_VALUE = CodedEnum.index(values());
+
         private final String value;
 
         CourseStatus(String value) {
             this.value = value;
         }
 
+        @Override
         public String getValue() {
             return value;
         }
 
         public static CourseStatus fromValue(String value) {
-            for (CourseStatus status : CourseStatus.values()) {
-                if (status.value.equals(value)) {
-                    return status;
-                }
+            CourseStatus status = BY_VALUE.get(value);
+            if (status == null) {
+                throw new IllegalArgumentException("Unknown course status: " + value);
             }
-            throw new IllegalArgumentException("Unknown course status: " + value);
+            return status;
         }
     }
 
@@ -89,6 +92,26 @@ public class Course {
         this.instructorId = instructorId;
     }
 
+    /**
+     * 复制构造函数，关联的教师信息为共享引用
+     */
+    public Course(Course other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.code = other.code;
+        this.description = other.description;
+        this.instructorId = other.instructorId;
+        this.credits = other.credits;
+        this.maxStudents = other.maxStudents;
+        this.isPublic = other.isPublic;
+        this.status = other.status;
+        this.startDate = other.startDate;
+        this.endDate = other.endDate;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.instructor = other.instructor;
+    }
+
     // Getters and Setters
     public Integer getId() {
         return id;
@@ -3,6 +3,7 @@ package com.no99.edunexuscourse_management.entity;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * 课程注册实体类
@@ -28,53 +29,57 @@ public class Enrollment {
     private Course course;
 
     // 注册角色枚举
-    public enum EnrollmentRole {
+    public enum EnrollmentRole implements CodedEnum {
         STUDENT("student"),
         TA("ta");
 
+        private static final Map<String, EnrollmentRole> BY_VALUE = CodedEnum.index(values());
+
         private final String value;
 
         EnrollmentRole(String value) {
             this.value = value;
         }
 
+        @Override
         public String getValue() {
             return value;
         }
 
         public static EnrollmentRole fromValue(String value) {
-            for (EnrollmentRole role : EnrollmentRole.values()) {
-                if (role.value.equals(value)) {
-                    return role;
-                }
+            EnrollmentRole role = BY_VALUE.get(value);
+            if (role == null) {
+                throw new IllegalArgumentException("Unknown enrollment role: " + value);
             }
-            throw new IllegalArgumentException("Unknown enrollment role: " + value);
+            return role;
         }
     }
 
     // 注册状态枚举
-    public enum EnrollmentStatus {
+    public enum EnrollmentStatus implements CodedEnum {
         ACTIVE("active"),
         DROPPED("dropped"),
         COMPLETED("completed");
 
+        private static final Map<String, EnrollmentStatus> BY_VALUE = CodedEnum.index(values());
+
         private final String value;
 
         EnrollmentStatus(String value) {
             this.value = value;
         }
 
+        @Override
         public String getValue() {
             return value;
         }
 
         public static EnrollmentStatus fromValue(String value) {
-            for (EnrollmentStatus status : EnrollmentStatus.values()) {
-                if (status.value.equals(value)) {
-                    return status;
-                }
+            EnrollmentStatus status = BY_VALUE.get(value);
+            if (status == null) {
+                throw new IllegalArgumentException("Unknown enrollment status: " + value);
             }
-            throw new IllegalArgumentException("Unknown enrollment status: " + value);
+            return status;
         }
     }
 
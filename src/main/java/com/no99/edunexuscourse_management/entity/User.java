@@ -3,6 +3,7 @@ package com.no99.edunexuscourse_management.entity;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * 用户实体类
@@ -26,28 +27,30 @@ public class User {
     private LocalDateTime updatedAt;
 
     // 用户角色枚举
-    public enum UserRole {
+    public enum UserRole implements CodedEnum {
         STUDENT("student"),
         INSTRUCTOR("instructor"),
         ADMIN("admin");
 
+        private static final Map<String, UserRole> BY_VALUE = CodedEnum.index(values());
+
         private final String value;
 
         UserRole(String value) {
             this.value = value;
         }
 
+        @Override
         public String getValue() {
             return value;
         }
 
         public static UserRole fromValue(String value) {
-            for (UserRole role : UserRole.values()) {
-                if (role.value.equals(value)) {
-                    return role;
-                }
+            UserRole role = BY_VALUE.get(value);
+            if (role == null) {
+                throw new IllegalArgumentException("Unknown user role: " + value);
             }
-            throw new IllegalArgumentException("Unknown user role: " + value);
+            return role;
         }
     }
 
@@ -0,0 +1,115 @@
+package com.no99.edunexuscourse_management.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 请求头处理
+ * 同一幂等键的重试直接返回首次成功的响应，不再执行业务逻辑；首次请求仍在执行时，重试等待其结果。
+ * 只保存成功的响应，失败的请求可以用同一幂等键重试。
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter replayedCounter;
+
+    // 本节点正在执行的幂等请求
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.replayedCounter = Counter.builder("idempotency.replayed")
+                .description("按幂等键直接返回已保存结果的请求数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 按幂等键执行操作
+     *
+     * @param key     Idempotency-Key 请求头，为空时直接执行
+     * @param scope   操作名称，不同操作的幂等键互不影响
+     * @param request 请求参数，序列化为JSON后计算摘要
+     * @param action  实际执行的操作
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ApiResponse<T> execute(String key, String scope, Object request, Supplier<ApiResponse<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ApiResponse.badRequest(HEADER + " 长度不能超过" + MAX_KEY_LENGTH + "个字符");
+        }
+
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        IdempotentResponse stored = store.find(storeKey);
+        if (stored != null) {
+            return (ApiResponse<T>) replay(stored, fingerprint);
+        }
+
+        CompletableFuture<IdempotentResponse> created = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(storeKey, created);
+        if (running != null) {
+            try {
+                return (ApiResponse<T>) replay(running.join(), fingerprint);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            ApiResponse<T> response = action.get();
+            IdempotentResponse result = new IdempotentResponse(fingerprint, response);
+            if (response.isSuccess()) {
+                store.save(storeKey, result);
+            }
+            created.complete(result);
+            return response;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, created);
+        }
+    }
+
+    private ApiResponse<?> replay(IdempotentResponse stored, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            return ApiResponse.error(HEADER + " 已用于参数不同的请求", 422);
+        }
+        replayedCounter.increment();
+        return stored.getResponse();
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("计算请求摘要失败", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.no99.edunexuscourse_management.idempotency;
+
+/**
+ * 幂等请求结果存储
+ * 默认为进程内存储；多节点部署需要重试落到任意节点都能命中时，可提供基于共享存储的实现并标注 @Primary 替换
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 查询幂等键对应的结果，不存在或已过期时返回null
+     */
+    IdempotentResponse find(String key);
+
+    /**
+     * 保存幂等键对应的结果
+     */
+    void save(String key, IdempotentResponse response);
+}
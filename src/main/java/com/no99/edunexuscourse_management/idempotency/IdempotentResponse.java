@@ -0,0 +1,26 @@
+package com.no99.edunexuscourse_management.idempotency;
+
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+
+/**
+ * 幂等请求的已保存结果
+ * fingerprint 为原始请求参数的摘要，同一幂等键携带不同参数时拒绝重放
+ */
+public class IdempotentResponse {
+
+    private final String fingerprint;
+    private final ApiResponse<?> response;
+
+    public IdempotentResponse(String fingerprint, ApiResponse<?> response) {
+        this.fingerprint = fingerprint;
+        this.response = response;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public ApiResponse<?> getResponse() {
+        return response;
+    }
+}
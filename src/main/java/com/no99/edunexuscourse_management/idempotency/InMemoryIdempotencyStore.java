@@ -0,0 +1,42 @@
+package com.no99.edunexuscourse_management.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 进程内的幂等结果存储，按容量和写入时间淘汰
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    public static final String CACHE_NAME = "idempotency";
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    public InMemoryIdempotencyStore(MeterRegistry meterRegistry,
+                                    @Value("${idempotency.max-entries:100000}") long maxEntries,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        cache.put(key, response);
+    }
+}
@@ -2,7 +2,10 @@ package com.no99.edunexuscourse_management.mapper;
 
 import com.no99.edunexuscourse_management.entity.Course;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -11,6 +14,13 @@ import java.util.List;
 @Mapper
 public interface CourseMapper {
 
+    /**
+     * 关键字匹配条件，搜索和分页搜索共用，保证两者在数据库回退时返回相同的结果集
+     */
+    String KEYWORD_MATCH = "(c.title LIKE CONCAT('%', #{keyword}, '%') " +
+            "   OR c.code LIKE CONCAT('%', #{keyword}, '%') " +
+            "   OR c.description LIKE CONCAT('%', #{keyword}, '%')) ";
+
     /**
      * 插入课程
      */
@@ -26,7 +36,7 @@ public interface CourseMapper {
             "FROM courses c " +
             "LEFT JOIN users u ON c.instructor_id = u.id " +
             "WHERE c.id = #{id}")
-    @Results({
+    @Results(id = "courseWithInstructor", value = {
         @Result(property = "id", column = "id"),
         @Result(property = "title", column = "title"),
         @Result(property = "code", column = "code"),
@@ -160,6 +170,13 @@ public interface CourseMapper {
             "WHERE id = #{id}")
     int update(Course course);
 
+    /**
+     * 锁定课程行并返回最大学生数（0表示不限制），课程不存在时返回null
+     * 同一课程的注册在该行锁上排队，不同课程之间互不影响
+     */
+    @Select("SELECT COALESCE(max_students, 0) FROM courses WHERE id = #{id} FOR UPDATE")
+    Integer lockMaxStudents(Integer id);
+
     /**
      * 删除课程
      */
@@ -172,10 +189,8 @@ public interface CourseMapper {
     @Select("SELECT c.*, u.username, u.first_name, u.last_name, u.email " +
             "FROM courses c " +
             "LEFT JOIN users u ON c.instructor_id = u.id " +
-            "WHERE c.title LIKE CONCAT('%', #{keyword}, '%') " +
-            "   OR c.code LIKE CONCAT('%', #{keyword}, '%') " +
-            "   OR c.description LIKE CONCAT('%', #{keyword}, '%') " +
-            "ORDER BY c.created_at DESC")
+            "WHERE " + KEYWORD_MATCH +
+            "ORDER BY c.created_at DESC, c.id DESC")
     @Results({
         @Result(property = "id", column = "id"),
         @Result(property = "title", column = "title"),
@@ -197,4 +212,54 @@ public interface CourseMapper {
         @Result(property = "instructor.email", column = "email")
     })
     List<Course> searchCourses(String keyword);
+
+    /**
+     * 游标分页查询课程
+     * 按 (created_at, id) 倒序，afterCreatedAt/afterId 为上一页最后一条记录的位置，
+     * 配合 courses(created_at, id) 索引时每页耗时与翻页深度无关
+     */
+    @Select("<script>" +
+            "SELECT c.*, u.username, u.first_name, u.last_name, u.email " +
+            "FROM courses c " +
+            "LEFT JOIN users u ON c.instructor_id = u.id " +
+            "<where>" +
+            "<if test='instructorId != null'>AND c.instructor_id = #{instructorId} </if>" +
+            "<if test='publicOnly'>AND c.is_public = 1 AND c.status = 'published' </if>" +
+            "<if test='keyword != null'>" +
+            "AND " + KEYWORD_MATCH +
+            "</if>" +
+            "<if test='afterCreatedAt != null'>" +
+            "AND (c.created_at &lt; #{afterCreatedAt} " +
+            "   OR (c.created_at = #{afterCreatedAt} AND c.id &lt; #{afterId})) " +
+            "</if>" +
+            "</where>" +
+            "ORDER BY c.created_at DESC, c.id DESC " +
+            "LIMIT #{limit}" +
+            "</script>")
+    @ResultMap("courseWithInstructor")
+    List<Course> findPage(@Param("instructorId") Integer instructorId,
+                          @Param("publicOnly") boolean publicOnly,
+                          @Param("keyword") String keyword,
+                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                          @Param("afterId") Integer afterId,
+                          @Param("limit") int limit);
+
+    /**
+     * 流式查询课程（用于导出）
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回结果，不在内存中缓存整个结果集
+     */
+    @Select("<script>" +
+            "SELECT c.*, u.username, u.first_name, u.last_name, u.email " +
+            "FROM courses c " +
+            "LEFT JOIN users u ON c.instructor_id = u.id " +
+            "<where>" +
+            "<if test='instructorId != null'>AND c.instructor_id = #{instructorId} </if>" +
+            "<if test='publicOnly'>AND c.is_public = 1 AND c.status = 'published' </if>" +
+            "</where>" +
+            "ORDER BY c.id ASC" +
+            "</script>")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultMap("courseWithInstructor")
+    Cursor<Course> streamCourses(@Param("instructorId") Integer instructorId,
+                                 @Param("publicOnly") boolean publicOnly);
 }
@@ -1,8 +1,14 @@
 package com.no99.edunexuscourse_management.mapper;
 
+import com.no99.edunexuscourse_management.dto.CourseEnrollmentCount;
+import com.no99.edunexuscourse_management.dto.RosterEntry;
 import com.no99.edunexuscourse_management.entity.Enrollment;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +25,17 @@ public interface EnrollmentMapper {
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(Enrollment enrollment);
 
+    /**
+     * 批量插入注册记录（单条多行INSERT）
+     */
+    @Insert("<script>" +
+            "INSERT INTO enrollments (user_id, course_id, role, enrollment_status) VALUES " +
+            "<foreach collection='enrollments' item='e' separator=','>" +
+            "(#{e.userId}, #{e.courseId}, #{e.role}, #{e.enrollmentStatus})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("enrollments") List<Enrollment> enrollments);
+
     /**
      * 根据ID查询注册记录
      */
@@ -97,6 +114,17 @@ public interface EnrollmentMapper {
     })
     List<Enrollment> findByCourseId(Integer courseId);
 
+    /**
+     * 查询课程名单（只读取名单页面需要的列）
+     */
+    @Select("SELECT e.id AS enrollment_id, e.user_id, e.role, e.enrolled_at, " +
+            "u.username, u.first_name, u.last_name, u.email " +
+            "FROM enrollments e " +
+            "LEFT JOIN users u ON e.user_id = u.id " +
+            "WHERE e.course_id = #{courseId} AND e.enrollment_status = 'active' " +
+            "ORDER BY e.enrolled_at DESC")
+    List<RosterEntry> findRosterByCourseId(Integer courseId);
+
     /**
      * 检查用户是否已注册课程
      */
@@ -104,6 +132,28 @@ public interface EnrollmentMapper {
             "WHERE user_id = #{userId} AND course_id = #{courseId} AND enrollment_status = 'active'")
     int isUserEnrolled(Integer userId, Integer courseId);
 
+    /**
+     * 查询给定用户中已有效注册课程的用户ID
+     */
+    @Select("<script>" +
+            "SELECT user_id FROM enrollments " +
+            "WHERE course_id = #{courseId} AND enrollment_status = 'active' AND user_id IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach>" +
+            "</script>")
+    List<Integer> findActiveUserIds(@Param("courseId") Integer courseId,
+                                    @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * 查询给定课程中用户已有效注册的课程ID
+     */
+    @Select("<script>" +
+            "SELECT course_id FROM enrollments " +
+            "WHERE user_id = #{userId} AND enrollment_status = 'active' AND course_id IN " +
+            "<foreach collection='courseIds' item='courseId' open='(' separator=',' close=')'>#{courseId}</foreach>" +
+            "</script>")
+    List<Integer> findActiveCourseIds(@Param("userId") Integer userId,
+                                      @Param("courseIds") Collection<Integer> courseIds);
+
     /**
      * 更新注册状态
      */
@@ -113,6 +163,25 @@ public interface EnrollmentMapper {
             "WHERE id = #{id}")
     int updateStatus(Enrollment enrollment);
 
+    /**
+     * 按用户和课程更新有效注册记录的状态，返回受影响行数（0表示没有有效注册）
+     */
+    @Update("UPDATE enrollments SET " +
+            "enrollment_status = #{status}, " +
+            "completed_at = #{completedAt} " +
+            "WHERE user_id = #{userId} AND course_id = #{courseId} AND enrollment_status = 'active'")
+    int updateActiveStatus(@Param("userId") Integer userId,
+                           @Param("courseId") Integer courseId,
+                           @Param("status") Enrollment.EnrollmentStatus status,
+                           @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 锁定注册记录并返回其课程ID
+     * 加锁读取不建立一致性读快照，可在锁定课程行之前调用
+     */
+    @Select("SELECT course_id FROM enrollments WHERE id = #{id} FOR UPDATE")
+    Integer lockCourseIdById(Integer id);
+
     /**
      * 删除注册记录
      */
@@ -125,4 +194,35 @@ public interface EnrollmentMapper {
     @Select("SELECT COUNT(*) FROM enrollments " +
             "WHERE course_id = #{courseId} AND enrollment_status = 'active'")
     int countByCourseId(Integer courseId);
+
+    /**
+     * 批量统计课程有效注册人数（没有有效注册的课程不返回）
+     */
+    @Select("<script>" +
+            "SELECT course_id, COUNT(*) AS active_count FROM enrollments " +
+            "WHERE enrollment_status = 'active' AND course_id IN " +
+            "<foreach collection='courseIds' item='courseId' open='(' separator=',' close=')'>#{courseId}</foreach> " +
+            "GROUP BY course_id" +
+            "</script>")
+    List<CourseEnrollmentCount> countActiveByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    /**
+     * 统计全部有效注册关系数
+     */
+    @Select("SELECT COUNT(*) FROM enrollments WHERE enrollment_status = 'active'")
+    long countActive();
+
+    /**
+     * 查询用户有效注册的课程ID
+     */
+    @Select("SELECT course_id FROM enrollments " +
+            "WHERE user_id = #{userId} AND enrollment_status = 'active'")
+    List<Integer> findActiveCourseIdsByUserId(Integer userId);
+
+    /**
+     * 流式读取全部有效注册的用户ID和课程ID（需在事务中使用并及时关闭）
+     */
+    @Select("SELECT user_id, course_id FROM enrollments WHERE enrollment_status = 'active'")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Enrollment> streamActive();
 }
@@ -1,9 +1,12 @@
 package com.no99.edunexuscourse_management.mapper;
 
+import com.no99.edunexuscourse_management.dto.ModuleListVersion;
 import com.no99.edunexuscourse_management.entity.Module;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 课程模块数据访问层
@@ -58,6 +61,13 @@ public interface ModuleMapper {
             "ORDER BY order_index ASC, created_at ASC")
     List<Module> findPublishedByCourseId(Integer courseId);
 
+    /**
+     * 查询课程模块列表的版本信息（数量和最近修改时间），不读取模块内容
+     */
+    @Select("SELECT COUNT(*) AS module_count, MAX(updated_at) AS last_modified " +
+            "FROM modules WHERE course_id = #{courseId}")
+    ModuleListVersion findVersionByCourseId(Integer courseId);
+
     /**
      * 获取课程中下一个排序序号
      */
@@ -98,8 +108,22 @@ public interface ModuleMapper {
     int deleteByCourseId(Integer courseId);
 
     /**
-     * 批量更新模块排序
+     * 查询模块的课程ID和排序序号（用于排序校验）
+     */
+    @Select("<script>" +
+            "SELECT id, course_id, order_index FROM modules WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Module> findOrderByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * 批量更新模块排序（单条UPDATE，orders 为 模块ID -> 排序序号）
      */
-    @Update("UPDATE modules SET order_index = #{orderIndex} WHERE id = #{id}")
-    int updateOrderIndex(@Param("id") Integer id, @Param("orderIndex") Integer orderIndex);
+    @Update("<script>" +
+            "UPDATE modules SET order_index = CASE id " +
+            "<foreach collection='orders' index='id' item='orderIndex'>WHEN #{id} THEN #{orderIndex} </foreach>" +
+            "END WHERE id IN " +
+            "<foreach collection='orders' index='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int updateOrderIndexes(@Param("orders") Map<Integer, Integer> orders);
 }
@@ -0,0 +1,22 @@
+package com.no99.edunexuscourse_management.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户数据访问层
+ */
+@Mapper
+public interface UserMapper {
+
+    /**
+     * 查询给定ID中实际存在的用户ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM users WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+}
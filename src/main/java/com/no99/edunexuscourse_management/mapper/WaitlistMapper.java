@@ -0,0 +1,63 @@
+package com.no99.edunexuscourse_management.mapper;
+
+import com.no99.edunexuscourse_management.entity.WaitlistEntry;
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 课程候补名单数据访问层
+ * 修改候补名单前需先锁定课程行（CourseMapper.lockMaxStudents），与注册共用同一把锁
+ */
+@Mapper
+public interface WaitlistMapper {
+
+    /**
+     * 加入候补名单
+     */
+    @Insert("INSERT INTO course_waitlist (course_id, user_id) VALUES (#{courseId}, #{userId})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insert(WaitlistEntry entry);
+
+    /**
+     * 查询用户在课程候补名单中的记录
+     */
+    @Select("SELECT * FROM course_waitlist WHERE course_id = #{courseId} AND user_id = #{userId}")
+    WaitlistEntry findByCourseAndUser(@Param("courseId") Integer courseId, @Param("userId") Integer userId);
+
+    /**
+     * 查询课程候补名单的队首
+     */
+    @Select("SELECT * FROM course_waitlist WHERE course_id = #{courseId} ORDER BY id LIMIT 1")
+    WaitlistEntry findHead(Integer courseId);
+
+    /**
+     * 统计排在给定记录之前的人数，最多数到 limit
+     * 走 (course_id, id) 索引的范围扫描，代价与前方人数成正比，因此以 limit 截断
+     */
+    @Select("SELECT COUNT(*) FROM (SELECT 1 FROM course_waitlist " +
+            "WHERE course_id = #{courseId} AND id < #{id} ORDER BY id LIMIT #{limit}) ahead")
+    int countAhead(@Param("courseId") Integer courseId, @Param("id") Integer id, @Param("limit") int limit);
+
+    /**
+     * 统计课程候补人数
+     */
+    @Select("SELECT COUNT(*) FROM course_waitlist WHERE course_id = #{courseId}")
+    int countByCourseId(Integer courseId);
+
+    /**
+     * 删除候补记录
+     */
+    @Delete("DELETE FROM course_waitlist WHERE id = #{id}")
+    int deleteById(Integer id);
+
+    /**
+     * 按课程和用户删除候补记录
+     */
+    @Delete("DELETE FROM course_waitlist WHERE course_id = #{courseId} AND user_id = #{userId}")
+    int deleteByCourseAndUser(@Param("courseId") Integer courseId, @Param("userId") Integer userId);
+
+    /**
+     * 删除课程的全部候补记录
+     */
+    @Delete("DELETE FROM course_waitlist WHERE course_id = #{courseId}")
+    int deleteByCourseId(Integer courseId);
+}
@@ -0,0 +1,129 @@
+package com.no99.edunexuscourse_management.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 自适应并发上限（梯度算法）
+ * 以请求耗时的长期均值和短期均值之比作为梯度：耗时上升时按比例收缩上限，耗时平稳时每次放宽约 sqrt(limit)。
+ * 上限收缩后多出的请求直接拒绝，不在数据库连接池中排队
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 长期均值的平滑窗口（样本数）
+    private static final int LONG_WINDOW = 600;
+
+    // 短期均值的平滑窗口（样本数）
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter rejected;
+
+    private volatile double limit;
+
+    // 以下字段只在持有 lock 时访问
+    private double longRtt;
+    private double shortRtt;
+
+    public AdaptiveConcurrencyLimiter(String budget, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, MeterRegistry meterRegistry) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("并发上限配置无效: " + budget);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("当前并发上限")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit.inflight", inFlight, AtomicInteger::get)
+                .description("正在处理的请求数")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("concurrency.limit.rejected")
+                .description("超出并发上限被拒绝的请求数")
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 尝试占用一个并发名额，成功后必须调用 release
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 释放名额并以本次耗时调整上限
+     * 调整被其他线程占用时跳过本次样本，不阻塞请求线程
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 释放名额但不计入耗时样本，用于耗时取决于数据量而非负载的请求（如流式导出）
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private void update(long rttNanos, int inFlightAtCompletion) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) * 2 / (SHORT_WINDOW + 1);
+        longRtt += (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        // 耗时长期下降时（如慢查询恢复）让基线尽快跟上
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double currentLimit = limit;
+        // 并发远未用满时耗时不代表容量，不放宽上限
+        if (inFlightAtCompletion < currentLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,172 @@
+package com.no99.edunexuscourse_management.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 业务接口的自适应并发限制过滤器
+ * 读请求和写请求分别使用独立的并发上限，超出上限立即返回503；
+ * 健康检查和内部接口不受限制，数据库变慢时健康检查仍能及时响应。
+ * 异步处理的请求（排队注册、流式导出）在异步处理结束时才释放名额；流式导出的耗时不计入上限调整
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    // 耗时取决于导出数据量，不反映服务负载
+    private static final Set<String> STREAMING_PATHS = Set.of("/api/courses/export");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${concurrency-limit.read.initial-limit:50}")
+    private int readInitialLimit;
+
+    @Value("${concurrency-limit.read.min-limit:10}")
+    private int readMinLimit;
+
+    @Value("${concurrency-limit.read.max-limit:400}")
+    private int readMaxLimit;
+
+    @Value("${concurrency-limit.write.initial-limit:20}")
+    private int writeInitialLimit;
+
+    @Value("${concurrency-limit.write.min-limit:5}")
+    private int writeMinLimit;
+
+    @Value("${concurrency-limit.write.max-limit:100}")
+    private int writeMaxLimit;
+
+    @Value("${concurrency-limit.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+
+    private AdaptiveConcurrencyLimiter writeLimiter;
+
+    @PostConstruct
+    public void init() {
+        readLimiter = new AdaptiveConcurrencyLimiter("read", readInitialLimit, readMinLimit, readMaxLimit,
+                rttTolerance, smoothing, meterRegistry);
+        writeLimiter = new AdaptiveConcurrencyLimiter("write", writeInitialLimit, writeMinLimit, writeMaxLimit,
+                rttTolerance, smoothing, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("服务繁忙，请稍后重试", HttpStatus.SERVICE_UNAVAILABLE.value()));
+            return;
+        }
+        Release release = new Release(limiter, STREAMING_PATHS.contains(request.getRequestURI()));
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release.run();
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    /**
+     * 释放一次并发名额：同步请求在过滤器返回时释放，异步请求在异步处理完成、出错或超时时释放
+     */
+    private static final class Release implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final boolean streaming;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(AdaptiveConcurrencyLimiter limiter, boolean streaming) {
+            this.limiter = limiter;
+            this.streaming = streaming;
+        }
+
+        void run() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (streaming) {
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 再次开始异步处理时监听器会被清除，需要重新注册
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.no99.edunexuscourse_management.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.no99.edunexuscourse_management.dto.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注册写接口和课程搜索接口的限流过滤器
+ * 每个请求都按客户端IP限流，带 userId 参数的请求再按用户限流，任一超出限额即返回429和 Retry-After；
+ * userId 由客户端提供，不能绕过IP限额。先于并发限制执行，被限流的请求不占用并发名额
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ENROLLMENT_PATH = "/api/enrollments";
+
+    private static final String WAITLIST_PATH = "/api/enrollments/waitlist";
+
+    private static final String SEARCH_PATH = "/api/courses/search";
+
+    private static final String SEARCH_PAGE_PATH = "/api/courses/search/page";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enrollment.permits-per-second:5}")
+    private double enrollmentPermitsPerSecond;
+
+    @Value("${rate-limit.enrollment.burst:20}")
+    private int enrollmentBurst;
+
+    @Value("${rate-limit.enrollment.ip-permits-per-second:50}")
+    private double enrollmentIpPermitsPerSecond;
+
+    @Value("${rate-limit.enrollment.ip-burst:100}")
+    private int enrollmentIpBurst;
+
+    @Value("${rate-limit.search.permits-per-second:10}")
+    private double searchPermitsPerSecond;
+
+    @Value("${rate-limit.search.burst:30}")
+    private int searchBurst;
+
+    @Value("${rate-limit.search.ip-permits-per-second:100}")
+    private double searchIpPermitsPerSecond;
+
+    @Value("${rate-limit.search.ip-burst:300}")
+    private int searchIpBurst;
+
+    @Value("${rate-limit.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    private RateLimiter enrollmentUserLimiter;
+
+    private RateLimiter enrollmentIpLimiter;
+
+    private RateLimiter searchUserLimiter;
+
+    private RateLimiter searchIpLimiter;
+
+    @PostConstruct
+    public void init() {
+        enrollmentUserLimiter = new RateLimiter("enrollment", "user", enrollmentPermitsPerSecond, enrollmentBurst,
+                idleTimeout, maxBuckets, meterRegistry);
+        enrollmentIpLimiter = new RateLimiter("enrollment", "ip", enrollmentIpPermitsPerSecond, enrollmentIpBurst,
+                idleTimeout, maxBuckets, meterRegistry);
+        searchUserLimiter = new RateLimiter("search", "user", searchPermitsPerSecond, searchBurst,
+                idleTimeout, maxBuckets, meterRegistry);
+        searchIpLimiter = new RateLimiter("search", "ip", searchIpPermitsPerSecond, searchIpBurst,
+                idleTimeout, maxBuckets, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isEnrollmentWrite(request) && !isSearch(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean enrollment = isEnrollmentWrite(request);
+        RateLimiter ipLimiter = enrollment ? enrollmentIpLimiter : searchIpLimiter;
+        RateLimiter userLimiter = enrollment ? enrollmentUserLimiter : searchUserLimiter;
+
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        String userId = request.getParameter("userId");
+        if (wait == 0 && userId != null && !userId.isBlank()) {
+            wait = userLimiter.tryAcquire(userId);
+        }
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("请求过于频繁，请稍后重试", HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    /**
+     * 注册、退课、结课和删除注册记录等写接口，不含查询接口和候补名单接口
+     */
+    private static boolean isEnrollmentWrite(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !isRead(request)
+                && (uri.equals(ENROLLMENT_PATH) || uri.startsWith(ENROLLMENT_PATH + "/"))
+                && !uri.startsWith(WAITLIST_PATH);
+    }
+
+    private static boolean isSearch(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return isRead(request) && (uri.equals(SEARCH_PATH) || uri.equals(SEARCH_PAGE_PATH));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+}
@@ -0,0 +1,73 @@
+package com.no99.edunexuscourse_management.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按调用方限流的令牌桶集合
+ * 令牌桶存放在有界的 Caffeine 缓存中，空闲超时后淘汰（再次出现时以满桶重新开始）
+ * 每个实例只存放一类调用方标识（用户或IP），某类标识大量涌入时不会挤掉另一类的令牌桶
+ */
+public class RateLimiter {
+
+    private final String route;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimiter(String route, String keyType, double permitsPerSecond, int burst, Duration idleTimeout,
+                       long maxBuckets, MeterRegistry meterRegistry) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("限流速率和突发量必须为正数: " + route + "/" + keyType);
+        }
+        this.route = route;
+        this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstTolerance = emissionInterval * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxBuckets)
+                .build();
+        this.allowed = Counter.builder("rate.limit.requests")
+                .description("限流检查的请求数")
+                .tag("route", route)
+                .tag("key", keyType)
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rate.limit.requests")
+                .description("限流检查的请求数")
+                .tag("route", route)
+                .tag("key", keyType)
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("内存中的令牌桶数")
+                .tag("route", route)
+                .tag("key", keyType)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 为调用方取一个令牌
+     *
+     * @return 0 表示放行，否则为建议的重试等待纳秒数
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(now));
+        long wait = bucket.tryAcquire(now, emissionInterval, burstTolerance);
+        (wait == 0 ? allowed : rejected).increment();
+        return wait;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+}
@@ -0,0 +1,38 @@
+package com.no99.edunexuscourse_management.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个调用方的令牌桶，以GCRA算法实现
+ * 只保存下一个令牌的理论到达时间（纳秒），以CAS更新，不加锁
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * 尝试取一个令牌
+     *
+     * @param now              当前时间（纳秒）
+     * @param emissionInterval 生成一个令牌的间隔（纳秒）
+     * @param burstTolerance   允许的突发量对应的时间（纳秒）
+     * @return 0 表示放行，否则为需要等待的纳秒数
+     */
+    long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = Math.max(current, now);
+            long wait = base - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, base + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+}
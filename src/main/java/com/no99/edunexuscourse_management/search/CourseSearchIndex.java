@@ -0,0 +1,259 @@
+package com.no99.edunexuscourse_management.search;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 课程全文检索倒排索引
+ * 对课程代码、标题、描述分词建立索引，支持前缀匹配和相关度排序。
+ * 应用启动后从数据库加载，之后由 CourseService 在课程增删改提交后同步维护。
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    private static final float CODE_WEIGHT = 3.0f;
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 词 -> (课程ID -> 权重)，有序以支持前缀匹配
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    // 课程ID -> 课程包含的词，用于更新和删除
+    private final Map<Integer, Set<String>> termsByCourse = new HashMap<>();
+
+    private final Map<Integer, Course> courses = new HashMap<>();
+
+    // 加载期间被修改过的课程，加载时跳过数据库中的旧数据
+    private final Set<Integer> touchedDuringWarmUp = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean warmingUp;
+
+    private volatile boolean ready;
+
+    /**
+     * 应用启动后加载全部课程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        warmingUp = true;
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            Integer count = template.execute(status -> {
+                int loaded = 0;
+                try (Cursor<Course> cursor = courseMapper.streamCourses(null, false)) {
+                    for (Course course : cursor) {
+                        lock.writeLock().lock();
+                        try {
+                            if (!touchedDuringWarmUp.contains(course.getId())) {
+                                put(course);
+                            }
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                        loaded++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return loaded;
+            });
+            ready = true;
+            log.info("课程搜索索引加载完成，共 {} 门课程", count);
+        } catch (RuntimeException e) {
+            log.warn("课程搜索索引加载失败，搜索将回退到数据库查询", e);
+        } finally {
+            warmingUp = false;
+            touchedDuringWarmUp.clear();
+        }
+    }
+
+    /**
+     * 索引是否已加载完成
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 新增或更新课程索引
+     */
+    public void index(Course course) {
+        if (course == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (warmingUp) {
+                touchedDuringWarmUp.add(course.getId());
+            }
+            put(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除课程索引
+     */
+    public void remove(Integer courseId) {
+        lock.writeLock().lock();
+        try {
+            if (warmingUp) {
+                touchedDuringWarmUp.add(courseId);
+            }
+            removeInternal(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索课程
+     * 所有查询词都需命中（支持前缀匹配），按相关度倒序，相同分数按ID倒序。
+     * 前缀展开不设上限，短前缀同样返回完整结果和准确的总数
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        List<String> queryTerms = CourseTokenizer.tokenize(keyword).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> scores = null;
+            for (String term : queryTerms) {
+                Map<Integer, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+            int from = Math.min(offset, ranked.size());
+            int to = (int) Math.min((long) from + limit, ranked.size());
+            List<Course> page = new ArrayList<>(to - from);
+            for (Map.Entry<Integer, Float> entry : ranked.subList(from, to)) {
+                page.add(new Course(courses.get(entry.getKey())));
+            }
+            return new SearchResult(ranked.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Float> scoreTerm(String term) {
+        Map<Integer, Float> result = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Float>> entry : postings.tailMap(term, true).entrySet()) {
+            String candidate = entry.getKey();
+            if (!candidate.startsWith(term)) {
+                break;
+            }
+            float factor = candidate.length() == term.length() ? 1.0f : PREFIX_MATCH_FACTOR;
+            float idf = (float) Math.log(1 + (double) courses.size() / entry.getValue().size());
+            for (Map.Entry<Integer, Float> posting : entry.getValue().entrySet()) {
+                result.merge(posting.getKey(), factor * idf * posting.getValue(), Math::max);
+            }
+        }
+        return result;
+    }
+
+    private void put(Course course) {
+        removeInternal(course.getId());
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, course.getCode(), CODE_WEIGHT);
+        addField(weights, course.getTitle(), TITLE_WEIGHT);
+        addField(weights, course.getDescription(), DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(course.getId(), weight));
+        termsByCourse.put(course.getId(), weights.keySet());
+        courses.put(course.getId(), new Course(course));
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : CourseTokenizer.tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) ->
+                weights.merge(term, fieldWeight * (1 + (float) Math.log(frequency)), Float::sum));
+    }
+
+    private void removeInternal(Integer courseId) {
+        Set<String> terms = termsByCourse.remove(courseId);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Integer, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(courseId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        courses.remove(courseId);
+    }
+
+    /**
+     * 搜索结果
+     */
+    public static class SearchResult {
+
+        private final int total;
+        private final List<Course> courses;
+
+        public SearchResult(int total, List<Course> courses) {
+            this.total = total;
+            this.courses = courses;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+    }
+}
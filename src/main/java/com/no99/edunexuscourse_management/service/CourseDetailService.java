@@ -0,0 +1,56 @@
+package com.no99.edunexuscourse_management.service;
+
+import com.no99.edunexuscourse_management.dto.CourseDetail;
+import com.no99.edunexuscourse_management.entity.Course;
+import com.no99.edunexuscourse_management.entity.Module;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 课程详情聚合服务
+ * 一次请求返回课程详情页所需的全部数据，互不依赖的查询并行执行
+ */
+@Service
+public class CourseDetailService {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    @Qualifier("courseDetailExecutor")
+    private Executor courseDetailExecutor;
+
+    /**
+     * 获取课程详情
+     */
+    public CourseDetail getCourseDetail(Integer id) {
+        // 课程通常命中缓存，先确认课程存在再发起其余查询
+        Course course = courseService.getCourseById(id);
+
+        // 注册人数在线程池中查询，已发布模块在当前线程查询，两者并行
+        CompletableFuture<Integer> enrollmentCount = CompletableFuture.supplyAsync(
+                () -> enrollmentService.getCourseEnrollmentCount(id), courseDetailExecutor);
+        List<Module> modules = moduleService.getPublishedModulesByCourse(id);
+
+        try {
+            return new CourseDetail(course, modules, enrollmentCount.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
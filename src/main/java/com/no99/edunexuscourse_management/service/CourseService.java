@@ -1,11 +1,31 @@
 package com.no99.edunexuscourse_management.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.no99.edunexuscourse_management.cache.CacheInvalidationBus;
+import com.no99.edunexuscourse_management.cache.CacheRegion;
+import com.no99.edunexuscourse_management.cache.CourseCache;
+import com.no99.edunexuscourse_management.cache.EnrollmentIndex;
+import com.no99.edunexuscourse_management.cache.EnrollmentCounter;
+import com.no99.edunexuscourse_management.dto.CourseCursor;
+import com.no99.edunexuscourse_management.dto.CursorPage;
 import com.no99.edunexuscourse_management.entity.Course;
 import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import com.no99.edunexuscourse_management.mapper.WaitlistMapper;
+import com.no99.edunexuscourse_management.search.CourseSearchIndex;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -15,9 +35,43 @@ import java.util.List;
 @Transactional
 public class CourseService {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    private static final String SEARCH_CURSOR_PREFIX = "s:";
+
     @Autowired
     private CourseMapper courseMapper;
 
+    @Autowired
+    private WaitlistMapper waitlistMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private EnrollmentCounter enrollmentCounter;
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${course.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${course.pagination.max-size:100}")
+    private int maxPageSize;
+
     /**
      * 创建课程
      */
@@ -29,15 +83,21 @@ public class CourseService {
         }
 
         courseMapper.insert(course);
-        return courseMapper.findById(course.getId());
+        Course createdCourse = courseMapper.findById(course.getId());
+        TransactionCallbacks.afterCommit(() -> {
+            courseSearchIndex.index(createdCourse);
+            cacheInvalidationBus.publish(CacheRegion.COURSE, createdCourse.getId());
+        });
+        return createdCourse;
     }
 
     /**
      * 根据ID获取课程
+     * 优先读取缓存，未命中时才访问数据库
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Course getCourseById(Integer id) {
-        Course course = courseMapper.findById(id);
+        Course course = courseCache.get(id);
         if (course == null) {
             throw new RuntimeException("课程不存在: " + id);
         }
@@ -70,15 +130,147 @@ public class CourseService {
 
     /**
      * 搜索课程
+     * 索引加载完成后直接在内存索引中检索，不访问数据库
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Course> searchCourses(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllCourses();
         }
+        if (courseSearchIndex.isReady()) {
+            return courseSearchIndex.search(keyword.trim(), 0, Integer.MAX_VALUE).getCourses();
+        }
         return courseMapper.searchCourses(keyword.trim());
     }
 
+    /**
+     * 分页获取所有课程
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> getCoursePage(String cursor, Integer size) {
+        return findPage(null, false, null, cursor, size);
+    }
+
+    /**
+     * 分页获取教师的课程
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> getCoursePageByInstructor(Integer instructorId, String cursor, Integer size) {
+        return findPage(instructorId, false, null, cursor, size);
+    }
+
+    /**
+     * 分页获取公开课程
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> getPublicCoursePage(String cursor, Integer size) {
+        return findPage(null, true, null, cursor, size);
+    }
+
+    /**
+     * 分页搜索课程
+     * 索引可用时按相关度排序分页，游标为结果偏移量；否则回退到数据库按创建时间分页。
+     * 翻页沿用发出游标的方式：数据库游标继续在数据库分页，索引游标在索引不可用时从数据库第一页重新开始
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPage<Course> searchCoursePage(String keyword, String cursor, Integer size) {
+        String trimmed = keyword == null || keyword.trim().isEmpty() ? null : keyword.trim();
+        Integer searchOffset = decodeSearchCursor(cursor);
+        boolean databaseCursor = searchOffset == null && cursor != null && !cursor.isBlank();
+        if (trimmed == null || databaseCursor || !courseSearchIndex.isReady()) {
+            return findPage(null, false, trimmed, searchOffset == null ? cursor : null, size);
+        }
+
+        int pageSize = resolvePageSize(size);
+        int offset = searchOffset == null ? 0 : searchOffset;
+        CourseSearchIndex.SearchResult result = courseSearchIndex.search(trimmed, offset, pageSize);
+        boolean hasMore = offset + result.getCourses().size() < result.getTotal();
+        String nextCursor = hasMore ? encodeSearchCursor(offset + pageSize) : null;
+        return new CursorPage<>(result.getCourses(), nextCursor, hasMore, pageSize);
+    }
+
+    private static String encodeSearchCursor(int offset) {
+        String raw = SEARCH_CURSOR_PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析索引分页的偏移量游标，为空或不是该类游标（如数据库分页游标）时返回null
+     */
+    private static Integer decodeSearchCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // 交由数据库分页游标解析并报错
+            return null;
+        }
+        if (!raw.startsWith(SEARCH_CURSOR_PREFIX)) {
+            return null;
+        }
+        try {
+            int offset = Integer.parseInt(raw.substring(SEARCH_CURSOR_PREFIX.length()));
+            if (offset >= 0) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // 落到下方统一抛出
+        }
+        throw new IllegalArgumentException("无效的分页游标");
+    }
+
+    private CursorPage<Course> findPage(Integer instructorId, boolean publicOnly, String keyword,
+                                        String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        CourseCursor after = CourseCursor.decode(cursor);
+        // 多取一条用于判断是否还有下一页
+        List<Course> rows = courseMapper.findPage(instructorId, publicOnly, keyword,
+                after == null ? null : after.getCreatedAt(),
+                after == null ? null : after.getId(),
+                pageSize + 1);
+        return CursorPage.of(rows, pageSize, CourseCursor::encode);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("分页大小必须为正整数");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * 以NDJSON格式流式导出课程
+     * 通过MyBatis游标逐行读取并写出，内存占用与课程总数无关
+     */
+    @Transactional(readOnly = true)
+    public void exportCourses(Integer instructorId, boolean publicOnly, OutputStream out) throws IOException {
+        // 每行之间用换行分隔，按批刷新而不是每写一行就刷新
+        ObjectWriter writer = objectMapper.writerFor(Course.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        try (Cursor<Course> cursor = courseMapper.streamCourses(instructorId, publicOnly);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int count = 0;
+            for (Course course : cursor) {
+                writer.writeValue(generator, course);
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
     /**
      * 更新课程
      */
@@ -96,7 +288,7 @@ public class CourseService {
 
         course.setId(id);
         courseMapper.update(course);
-        return courseMapper.findById(id);
+        return reloadAndIndex(id);
     }
 
     /**
@@ -104,7 +296,15 @@ public class CourseService {
      */
     public void deleteCourse(Integer id) {
         Course course = getCourseById(id);
+        waitlistMapper.deleteByCourseId(id);
         courseMapper.deleteById(id);
+        evict(id);
+        moduleService.evictPublished(id);
+        TransactionCallbacks.afterCommit(() -> {
+            courseSearchIndex.remove(id);
+            enrollmentCounter.invalidate(id);
+            enrollmentIndex.removeCourse(id);
+        });
     }
 
     /**
@@ -114,7 +314,7 @@ public class CourseService {
         Course course = getCourseById(id);
         course.setStatus(Course.CourseStatus.PUBLISHED);
         courseMapper.update(course);
-        return courseMapper.findById(id);
+        return reloadAndIndex(id);
     }
 
     /**
@@ -124,7 +324,29 @@ public class CourseService {
         Course course = getCourseById(id);
         course.setStatus(Course.CourseStatus.ARCHIVED);
         courseMapper.update(course);
-        return courseMapper.findById(id);
+        return reloadAndIndex(id);
+    }
+
+    /**
+     * 使课程缓存失效并重新查询，事务提交后同步搜索索引
+     */
+    private Course reloadAndIndex(Integer id) {
+        evict(id);
+        Course course = courseMapper.findById(id);
+        TransactionCallbacks.afterCommit(() -> courseSearchIndex.index(course));
+        return course;
+    }
+
+    /**
+     * 立即使缓存失效，并在事务提交后再次失效
+     * 防止提交前其他请求把旧数据重新加载进缓存；提交后同时通知其他节点
+     */
+    private void evict(Integer id) {
+        courseCache.invalidate(id);
+        TransactionCallbacks.afterCommit(() -> {
+            courseCache.invalidate(id);
+            cacheInvalidationBus.publish(CacheRegion.COURSE, id);
+        });
     }
 
     /**
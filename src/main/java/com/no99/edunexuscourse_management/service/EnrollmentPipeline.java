@@ -0,0 +1,208 @@
+package com.no99.edunexuscourse_management.service;
+
+import com.no99.edunexuscourse_management.dto.BatchEnrollmentResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 排队注册的批量提交管道
+ * 注册请求进入有界队列，由单个写线程按批次（数量或等待时间先到为准）取出，
+ * 每批在一个事务中按课程ID顺序逐门课程批量注册，提交后再完成各请求的 future。
+ * 每门课程在各自的保存点内执行，某门课程失败（如课程不存在）只回滚并失败该课程的请求。
+ * 多个请求共用一次提交，减少高峰期的事务数和日志刷盘次数。
+ */
+@Component
+@ConditionalOnProperty(name = "enrollment.pipeline.enabled", havingValue = "true")
+public class EnrollmentPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentPipeline.class);
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${enrollment.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${enrollment.pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${enrollment.pipeline.max-delay:10ms}")
+    private Duration maxDelay;
+
+    private BlockingQueue<PendingEnrollment> queue;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate savepointTemplate;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private Timer commitTimer;
+
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        savepointTemplate = new TransactionTemplate(transactionManager);
+        savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        Gauge.builder("enrollment.pipeline.queue.size", queue, BlockingQueue::size)
+                .description("排队等待提交的注册请求数")
+                .register(meterRegistry);
+        commitTimer = Timer.builder("enrollment.pipeline.commit")
+                .description("每批注册请求的事务耗时")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("enrollment.pipeline.batch.size")
+                .description("每批提交的注册请求数")
+                .register(meterRegistry);
+        running = true;
+        writer = Thread.ofPlatform().name("enrollment-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<PendingEnrollment> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        fail(remaining, new RejectedExecutionException("服务正在关闭"));
+    }
+
+    /**
+     * 提交注册请求，批次提交后 future 以该用户的处理结果完成
+     *
+     * @throws RejectedExecutionException 队列已满
+     */
+    public CompletableFuture<BatchEnrollmentResult.Outcome> submit(Integer userId, Integer courseId) {
+        PendingEnrollment pending = new PendingEnrollment(userId, courseId);
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("注册请求过多，请稍后重试");
+        }
+        return pending.future;
+    }
+
+    private void drain() {
+        List<PendingEnrollment> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingEnrollment first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingEnrollment next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new RejectedExecutionException("服务正在关闭"));
+                return;
+            } catch (RuntimeException e) {
+                log.error("注册批次提交失败，共 {} 个请求", batch.size(), e);
+                fail(batch, e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingEnrollment> batch) {
+        // 按课程ID顺序加锁，与其他按课程加锁的事务保持一致的加锁顺序
+        Map<Integer, List<PendingEnrollment>> byCourse = new TreeMap<>();
+        for (PendingEnrollment pending : batch) {
+            byCourse.computeIfAbsent(pending.courseId, id -> new ArrayList<>()).add(pending);
+        }
+
+        commitTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            for (Map.Entry<Integer, List<PendingEnrollment>> entry : byCourse.entrySet()) {
+                List<PendingEnrollment> pendings = entry.getValue();
+                List<Integer> userIds = pendings.stream().map(pending -> pending.userId).toList();
+                try {
+                    List<BatchEnrollmentResult.Item> results = savepointTemplate.execute(
+                            nested -> enrollmentService.enrollUsers(entry.getKey(), userIds).getResults());
+                    for (int i = 0; i < pendings.size(); i++) {
+                        pendings.get(i).outcome = results.get(i).getOutcome();
+                    }
+                } catch (RuntimeException e) {
+                    // 已回滚到该课程的保存点，其余课程照常提交
+                    for (PendingEnrollment pending : pendings) {
+                        pending.error = e;
+                    }
+                }
+            }
+        }));
+        batchSizeSummary.record(batch.size());
+
+        for (PendingEnrollment pending : batch) {
+            if (pending.error != null) {
+                pending.future.completeExceptionally(pending.error);
+            } else {
+                pending.future.complete(pending.outcome);
+            }
+        }
+    }
+
+    private static void fail(List<PendingEnrollment> batch, Throwable error) {
+        for (PendingEnrollment pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class PendingEnrollment {
+
+        private final Integer userId;
+        private final Integer courseId;
+        private final CompletableFuture<BatchEnrollmentResult.Outcome> future = new CompletableFuture<>();
+        private BatchEnrollmentResult.Outcome outcome;
+        private RuntimeException error;
+
+        private PendingEnrollment(Integer userId, Integer courseId) {
+            this.userId = userId;
+            this.courseId = courseId;
+        }
+    }
+}
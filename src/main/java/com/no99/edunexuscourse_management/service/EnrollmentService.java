@@ -1,14 +1,31 @@
 package com.no99.edunexuscourse_management.service;
 
+import com.no99.edunexuscourse_management.cache.CacheInvalidationBus;
+import com.no99.edunexuscourse_management.cache.CacheRegion;
+import com.no99.edunexuscourse_management.cache.EnrollmentCounter;
+import com.no99.edunexuscourse_management.cache.EnrollmentIndex;
+import com.no99.edunexuscourse_management.dto.BatchEnrollmentResult;
+import com.no99.edunexuscourse_management.dto.RosterEntry;
 import com.no99.edunexuscourse_management.entity.Enrollment;
+import com.no99.edunexuscourse_management.entity.WaitlistEntry;
 import com.no99.edunexuscourse_management.mapper.EnrollmentMapper;
 import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import com.no99.edunexuscourse_management.mapper.UserMapper;
+import com.no99.edunexuscourse_management.mapper.WaitlistMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 课程注册服务实现类
@@ -17,60 +34,203 @@ import java.util.List;
 @Transactional
 public class EnrollmentService {
 
+    // IN 列表和多行 INSERT 的单批最大行数
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    private static final int MAX_CHECK_SIZE = 500;
+
     @Autowired
     private EnrollmentMapper enrollmentMapper;
 
     @Autowired
     private CourseMapper courseMapper;
 
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private WaitlistMapper waitlistMapper;
+
+    @Autowired
+    private EnrollmentCounter enrollmentCounter;
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * 注册课程
+     * 先锁定课程行再检查重复注册和人数上限，保证并发注册时不会超员或重复
      */
     public Enrollment enrollCourse(Integer userId, Integer courseId) {
+        // 锁定课程行，必须是事务中的第一次读取，之后的查询才能看到前一个持锁事务提交的数据
+        Integer maxStudents = courseMapper.lockMaxStudents(courseId);
+        if (maxStudents == null) {
+            throw new RuntimeException("课程不存在: " + courseId);
+        }
+
         // 检查是否已经注册
         if (enrollmentMapper.isUserEnrolled(userId, courseId) > 0) {
             throw new IllegalArgumentException("用户已经注册了该课程");
         }
 
-        // 检查课程是否存在
-        if (courseMapper.findById(courseId) == null) {
-            throw new RuntimeException("课程不存在: " + courseId);
+        // 检查课程人数是否已满
+        if (maxStudents > 0 && enrollmentMapper.countByCourseId(courseId) >= maxStudents) {
+            throw new IllegalArgumentException("课程人数已满");
         }
 
         Enrollment enrollment = new Enrollment(userId, courseId);
         enrollmentMapper.insert(enrollment);
+        afterEnrollmentStarted(userId, courseId);
         return enrollmentMapper.findById(enrollment.getId());
     }
 
+    /**
+     * 批量注册课程
+     * 用户存在性和重复注册均以集合查询校验，注册记录以多行INSERT写入，返回每个用户的处理结果
+     */
+    public BatchEnrollmentResult enrollUsers(Integer courseId, List<Integer> userIds) {
+        // 与单个注册相同，先锁定课程行
+        Integer maxStudents = courseMapper.lockMaxStudents(courseId);
+        if (maxStudents == null) {
+            throw new RuntimeException("课程不存在: " + courseId);
+        }
+
+        List<Integer> distinctUserIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Set<Integer> existingUsers = new HashSet<>();
+        Set<Integer> enrolledUsers = new HashSet<>();
+        for (List<Integer> chunk : chunks(distinctUserIds)) {
+            existingUsers.addAll(userMapper.findExistingIds(chunk));
+            enrolledUsers.addAll(enrollmentMapper.findActiveUserIds(courseId, chunk));
+        }
+
+        int remainingSeats = maxStudents > 0
+                ? maxStudents - enrollmentMapper.countByCourseId(courseId)
+                : Integer.MAX_VALUE;
+        Set<Integer> seen = new HashSet<>();
+        List<Enrollment> newEnrollments = new ArrayList<>();
+        List<BatchEnrollmentResult.Item> results = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            BatchEnrollmentResult.Outcome outcome;
+            if (!seen.add(userId)) {
+                outcome = BatchEnrollmentResult.Outcome.DUPLICATE_IN_REQUEST;
+            } else if (!existingUsers.contains(userId)) {
+                outcome = BatchEnrollmentResult.Outcome.USER_NOT_FOUND;
+            } else if (enrolledUsers.contains(userId)) {
+                outcome = BatchEnrollmentResult.Outcome.ALREADY_ENROLLED;
+            } else if (remainingSeats <= 0) {
+                outcome = BatchEnrollmentResult.Outcome.COURSE_FULL;
+            } else {
+                newEnrollments.add(new Enrollment(userId, courseId));
+                remainingSeats--;
+                outcome = BatchEnrollmentResult.Outcome.ENROLLED;
+            }
+            results.add(new BatchEnrollmentResult.Item(userId, outcome));
+        }
+
+        for (List<Enrollment> chunk : chunks(newEnrollments)) {
+            enrollmentMapper.insertBatch(chunk);
+        }
+        int enrolledCount = newEnrollments.size();
+        TransactionCallbacks.afterCommit(() -> {
+            enrollmentCounter.add(courseId, enrolledCount);
+            for (Enrollment enrollment : newEnrollments) {
+                enrollmentIndex.add(enrollment.getUserId(), courseId);
+                cacheInvalidationBus.publish(CacheRegion.USER_ENROLLMENTS, enrollment.getUserId());
+            }
+        });
+        return new BatchEnrollmentResult(courseId, results);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += BATCH_CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(i + BATCH_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
     /**
      * 退课
+     * 以单条条件UPDATE完成，并发重复退课时只有一次生效；空出的名额在同一事务中递补给候补名单队首
      */
     public void dropCourse(Integer userId, Integer courseId) {
-        List<Enrollment> enrollments = enrollmentMapper.findByUserId(userId);
-        Enrollment enrollment = enrollments.stream()
-                .filter(e -> e.getCourseId().equals(courseId) &&
-                           e.getEnrollmentStatus() == Enrollment.EnrollmentStatus.ACTIVE)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("未找到有效的课程注册记录"));
-
-        enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.DROPPED);
-        enrollmentMapper.updateStatus(enrollment);
+        endEnrollment(userId, courseId, Enrollment.EnrollmentStatus.DROPPED, null);
     }
 
     /**
      * 完成课程
+     * 以单条条件UPDATE完成，并发重复操作时只有一次生效；空出的名额同样递补给候补名单
      */
     public void completeCourse(Integer userId, Integer courseId) {
-        List<Enrollment> enrollments = enrollmentMapper.findByUserId(userId);
-        Enrollment enrollment = enrollments.stream()
-                .filter(e -> e.getCourseId().equals(courseId) &&
-                           e.getEnrollmentStatus() == Enrollment.EnrollmentStatus.ACTIVE)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("未找到有效的课程注册记录"));
+        endEnrollment(userId, courseId, Enrollment.EnrollmentStatus.COMPLETED, LocalDateTime.now());
+    }
 
-        enrollment.setEnrollmentStatus(Enrollment.EnrollmentStatus.COMPLETED);
-        enrollment.setCompletedAt(LocalDateTime.now());
-        enrollmentMapper.updateStatus(enrollment);
+    private void endEnrollment(Integer userId, Integer courseId, Enrollment.EnrollmentStatus status,
+                               LocalDateTime completedAt) {
+        // 与注册、候补相同，先锁定课程行
+        Integer maxStudents = courseMapper.lockMaxStudents(courseId);
+        int updated = enrollmentMapper.updateActiveStatus(userId, courseId, status, completedAt);
+        if (updated == 0) {
+            throw new RuntimeException("未找到有效的课程注册记录");
+        }
+        afterEnrollmentEnded(userId, courseId, updated);
+        if (maxStudents != null) {
+            promoteFromWaitlist(courseId, maxStudents);
+        }
+    }
+
+    /**
+     * 按候补顺序把空出的名额分配给候补用户，调用前必须已锁定课程行
+     * 已通过其他途径注册的候补记录直接移除，不占用名额
+     */
+    private void promoteFromWaitlist(Integer courseId, int maxStudents) {
+        int seats = -1;
+        WaitlistEntry head;
+        while ((head = waitlistMapper.findHead(courseId)) != null) {
+            // 候补名单为空时不统计注册人数
+            if (seats < 0) {
+                seats = maxStudents > 0
+                        ? maxStudents - enrollmentMapper.countByCourseId(courseId)
+                        : Integer.MAX_VALUE;
+            }
+            if (seats <= 0) {
+                return;
+            }
+            Integer userId = head.getUserId();
+            // 记录已被删除（用户已退出候补）时不递补
+            if (waitlistMapper.deleteById(head.getId()) == 0
+                    || enrollmentMapper.isUserEnrolled(userId, courseId) > 0) {
+                continue;
+            }
+            enrollmentMapper.insert(new Enrollment(userId, courseId));
+            afterEnrollmentStarted(userId, courseId);
+            seats--;
+        }
+    }
+
+    /**
+     * 新的有效注册提交后更新计数器和注册关系索引
+     */
+    private void afterEnrollmentStarted(Integer userId, Integer courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            enrollmentCounter.add(courseId, 1);
+            enrollmentIndex.add(userId, courseId);
+            cacheInvalidationBus.publish(CacheRegion.USER_ENROLLMENTS, userId);
+        });
+    }
+
+    /**
+     * 有效注册结束（退课、完成或删除）提交后更新计数器和注册关系索引
+     */
+    private void afterEnrollmentEnded(Integer userId, Integer courseId, int count) {
+        TransactionCallbacks.afterCommit(() -> {
+            enrollmentCounter.add(courseId, -count);
+            enrollmentIndex.remove(userId, courseId);
+            cacheInvalidationBus.publish(CacheRegion.USER_ENROLLMENTS, userId);
+        });
     }
 
     /**
@@ -90,19 +250,81 @@ public class EnrollmentService {
     }
 
     /**
-     * 检查用户是否已注册课程
+     * 获取课程名单
      */
     @Transactional(readOnly = true)
+    public List<RosterEntry> getCourseRoster(Integer courseId) {
+        return enrollmentMapper.findRosterByCourseId(courseId);
+    }
+
+    /**
+     * 检查用户是否已注册课程
+     * 注册关系索引可用时直接读取内存，否则查询数据库
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isUserEnrolled(Integer userId, Integer courseId) {
+        if (enrollmentIndex.isReady()) {
+            return enrollmentIndex.contains(userId, courseId);
+        }
         return enrollmentMapper.isUserEnrolled(userId, courseId) > 0;
     }
 
+    /**
+     * 批量检查用户注册了给定课程中的哪些课程
+     * 返回 课程ID -> 是否有效注册，按传入顺序；注册关系索引不可用时以一条集合查询回答
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<Integer, Boolean> checkCourseEnrollments(Integer userId, List<Integer> courseIds) {
+        List<Integer> distinctCourseIds = distinctForCheck(courseIds, "课程");
+        Collection<Integer> enrolled = enrollmentIndex.isReady()
+                ? enrollmentIndex.filterEnrolled(userId, distinctCourseIds)
+                : enrollmentMapper.findActiveCourseIds(userId, distinctCourseIds);
+        return membership(distinctCourseIds, new HashSet<>(enrolled));
+    }
+
+    /**
+     * 批量检查给定用户中哪些已注册课程
+     * 返回 用户ID -> 是否有效注册，按传入顺序；注册关系索引不可用时以一条集合查询回答
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<Integer, Boolean> checkUserEnrollments(Integer courseId, List<Integer> userIds) {
+        List<Integer> distinctUserIds = distinctForCheck(userIds, "用户");
+        Collection<Integer> enrolled = enrollmentIndex.isReady()
+                ? enrollmentIndex.filterEnrolledUsers(courseId, distinctUserIds)
+                : enrollmentMapper.findActiveUserIds(courseId, distinctUserIds);
+        return membership(distinctUserIds, new HashSet<>(enrolled));
+    }
+
+    private static List<Integer> distinctForCheck(List<Integer> ids, String name) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException(name + "ID列表不能为空");
+        }
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException(name + "ID列表不能为空");
+        }
+        if (distinctIds.size() > MAX_CHECK_SIZE) {
+            throw new IllegalArgumentException("单次最多检查" + MAX_CHECK_SIZE + "个" + name);
+        }
+        return distinctIds;
+    }
+
+    private static Map<Integer, Boolean> membership(List<Integer> ids, Set<Integer> enrolled) {
+        Map<Integer, Boolean> result = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            result.put(id, enrolled.contains(id));
+        }
+        return result;
+    }
+
     /**
      * 获取课程注册人数
+     * 读取内存计数器，仅在课程首次访问时查询数据库
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public int getCourseEnrollmentCount(Integer courseId) {
-        return enrollmentMapper.countByCourseId(courseId);
+        return enrollmentCounter.get(courseId);
     }
 
     /**
@@ -121,7 +343,20 @@ public class EnrollmentService {
      * 删除注册记录
      */
     public void deleteEnrollment(Integer id) {
-        getEnrollmentById(id); // 检查是否存在
+        // 删除有效注册会空出名额，与退课相同先锁定课程行再递补候补名单。
+        // 课程ID以加锁读取获得，课程行锁之前不做普通读取，之后读到的注册人数和候补名单才是最新的
+        Integer courseId = enrollmentMapper.lockCourseIdById(id);
+        if (courseId == null) {
+            throw new RuntimeException("注册记录不存在: " + id);
+        }
+        Integer maxStudents = courseMapper.lockMaxStudents(courseId);
+        Enrollment enrollment = getEnrollmentById(id);
         enrollmentMapper.deleteById(id);
+        if (enrollment.getEnrollmentStatus() == Enrollment.EnrollmentStatus.ACTIVE) {
+            afterEnrollmentEnded(enrollment.getUserId(), courseId, 1);
+            if (maxStudents != null) {
+                promoteFromWaitlist(courseId, maxStudents);
+            }
+        }
     }
 }
@@ -1,14 +1,24 @@
 package com.no99.edunexuscourse_management.service;
 
+import com.no99.edunexuscourse_management.cache.CacheInvalidationBus;
+import com.no99.edunexuscourse_management.cache.CacheRegion;
+import com.no99.edunexuscourse_management.cache.CourseCache;
+import com.no99.edunexuscourse_management.cache.PublishedModuleCache;
+import com.no99.edunexuscourse_management.dto.ModuleListVersion;
 import com.no99.edunexuscourse_management.entity.Module;
 import com.no99.edunexuscourse_management.mapper.ModuleMapper;
-import com.no99.edunexuscourse_management.mapper.CourseMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * 课程模块服务实现类
@@ -21,14 +31,20 @@ public class ModuleService {
     private ModuleMapper moduleMapper;
 
     @Autowired
-    private CourseMapper courseMapper;
+    private CourseCache courseCache;
+
+    @Autowired
+    private PublishedModuleCache publishedModuleCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * 创建模块
      */
     public Module createModule(Module module) {
         // 检查课程是否存在
-        if (courseMapper.findById(module.getCourseId()) == null) {
+        if (courseCache.get(module.getCourseId()) == null) {
             throw new RuntimeException("课程不存在: " + module.getCourseId());
         }
 
@@ -38,6 +54,7 @@ public class ModuleService {
         }
 
         moduleMapper.insert(module);
+        evictPublished(module.getCourseId());
         return moduleMapper.findById(module.getId());
     }
 
@@ -62,11 +79,19 @@ public class ModuleService {
     }
 
     /**
-     * 获取课程的已发布模块
+     * 获取课程的已发布模块（读取缓存，返回的列表不可修改）
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Module> getPublishedModulesByCourse(Integer courseId) {
-        return moduleMapper.findPublishedByCourseId(courseId);
+        return publishedModuleCache.get(courseId);
+    }
+
+    /**
+     * 获取课程模块列表的版本信息，用于条件请求
+     */
+    @Transactional(readOnly = true)
+    public ModuleListVersion getModuleListVersion(Integer courseId) {
+        return moduleMapper.findVersionByCourseId(courseId);
     }
 
     /**
@@ -80,6 +105,7 @@ public class ModuleService {
         module.setCourseId(existingModule.getCourseId()); // 不允许修改课程ID
 
         moduleMapper.update(module);
+        evictPublished(existingModule.getCourseId());
         return moduleMapper.findById(id);
     }
 
@@ -87,8 +113,9 @@ public class ModuleService {
      * 删除模块
      */
     public void deleteModule(Integer id) {
-        getModuleById(id); // 检查是否存在
+        Module module = getModuleById(id); // 检查是否存在
         moduleMapper.deleteById(id);
+        evictPublished(module.getCourseId());
     }
 
     /**
@@ -99,6 +126,7 @@ public class ModuleService {
         module.setIsPublished(true);
         module.setPublishedAt(LocalDateTime.now());
         moduleMapper.updatePublishStatus(module);
+        evictPublished(module.getCourseId());
         return moduleMapper.findById(id);
     }
 
@@ -110,15 +138,42 @@ public class ModuleService {
         module.setIsPublished(false);
         module.setPublishedAt(null);
         moduleMapper.updatePublishStatus(module);
+        evictPublished(module.getCourseId());
         return moduleMapper.findById(id);
     }
 
     /**
      * 批量更新模块排序
+     * 校验所有模块属于同一课程后，只更新序号发生变化的模块，并合并为一条UPDATE
      */
     public void updateModuleOrder(List<Integer> moduleIds) {
+        if (moduleIds == null || moduleIds.isEmpty()) {
+            return;
+        }
+        if (new HashSet<>(moduleIds).size() != moduleIds.size()) {
+            throw new IllegalArgumentException("模块ID列表包含重复项");
+        }
+
+        List<Module> modules = moduleMapper.findOrderByIds(moduleIds);
+        if (modules.size() != moduleIds.size()) {
+            throw new IllegalArgumentException("部分模块不存在");
+        }
+        if (modules.stream().map(Module::getCourseId).distinct().count() > 1) {
+            throw new IllegalArgumentException("所有模块必须属于同一课程");
+        }
+
+        Map<Integer, Integer> currentOrder = modules.stream()
+                .collect(Collectors.toMap(Module::getId, module -> Objects.requireNonNullElse(module.getOrderIndex(), 0)));
+        Map<Integer, Integer> changedOrder = new LinkedHashMap<>();
         for (int i = 0; i < moduleIds.size(); i++) {
-            moduleMapper.updateOrderIndex(moduleIds.get(i), i + 1);
+            Integer id = moduleIds.get(i);
+            if (currentOrder.get(id) != i + 1) {
+                changedOrder.put(id, i + 1);
+            }
+        }
+        if (!changedOrder.isEmpty()) {
+            moduleMapper.updateOrderIndexes(changedOrder);
+            evictPublished(modules.get(0).getCourseId());
         }
     }
 
@@ -127,5 +182,18 @@ public class ModuleService {
      */
     public void deleteModulesByCourse(Integer courseId) {
         moduleMapper.deleteByCourseId(courseId);
+        evictPublished(courseId);
+    }
+
+    /**
+     * 使课程的已发布模块缓存失效
+     * 立即失效一次，并在事务提交后再失效一次，避免提交前被其他请求用旧数据重新加载；提交后同时通知其他节点
+     */
+    public void evictPublished(Integer courseId) {
+        publishedModuleCache.invalidate(courseId);
+        TransactionCallbacks.afterCommit(() -> {
+            publishedModuleCache.invalidate(courseId);
+            cacheInvalidationBus.publish(CacheRegion.PUBLISHED_MODULES, courseId);
+        });
     }
 }
@@ -0,0 +1,97 @@
+package com.no99.edunexuscourse_management.service;
+
+import com.no99.edunexuscourse_management.dto.WaitlistPosition;
+import com.no99.edunexuscourse_management.entity.WaitlistEntry;
+import com.no99.edunexuscourse_management.mapper.CourseMapper;
+import com.no99.edunexuscourse_management.mapper.EnrollmentMapper;
+import com.no99.edunexuscourse_management.mapper.UserMapper;
+import com.no99.edunexuscourse_management.mapper.WaitlistMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 课程候补名单服务
+ * 课程满员时用户加入候补名单，名额空出后由 EnrollmentService 在同一事务中按先后顺序递补
+ */
+@Service
+@Transactional
+public class WaitlistService {
+
+    @Autowired
+    private WaitlistMapper waitlistMapper;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private EnrollmentMapper enrollmentMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Value("${waitlist.position.max-count:1000}")
+    private int maxPositionCount;
+
+    /**
+     * 加入候补名单
+     * 与注册共用课程行锁，只有课程满员时才能加入
+     */
+    public WaitlistPosition joinWaitlist(Integer userId, Integer courseId) {
+        Integer maxStudents = courseMapper.lockMaxStudents(courseId);
+        if (maxStudents == null) {
+            throw new RuntimeException("课程不存在: " + courseId);
+        }
+        if (userMapper.findExistingIds(List.of(userId)).isEmpty()) {
+            throw new RuntimeException("用户不存在: " + userId);
+        }
+        if (enrollmentMapper.isUserEnrolled(userId, courseId) > 0) {
+            throw new IllegalArgumentException("用户已经注册了该课程");
+        }
+        if (maxStudents <= 0 || enrollmentMapper.countByCourseId(courseId) < maxStudents) {
+            throw new IllegalArgumentException("课程尚有空位，请直接注册");
+        }
+        if (waitlistMapper.findByCourseAndUser(courseId, userId) != null) {
+            throw new IllegalArgumentException("用户已在该课程的候补名单中");
+        }
+
+        waitlistMapper.insert(new WaitlistEntry(userId, courseId));
+        return getPosition(userId, courseId);
+    }
+
+    /**
+     * 查询候补排位
+     * 统计前方人数的代价与排位成正比，超过 waitlist.position.max-count 后只返回"排在该名次之后"
+     */
+    @Transactional(readOnly = true)
+    public WaitlistPosition getPosition(Integer userId, Integer courseId) {
+        WaitlistEntry entry = waitlistMapper.findByCourseAndUser(courseId, userId);
+        if (entry == null) {
+            throw new RuntimeException("用户不在该课程的候补名单中");
+        }
+        int ahead = waitlistMapper.countAhead(courseId, entry.getId(), maxPositionCount);
+        return new WaitlistPosition(courseId, userId, ahead + 1, ahead < maxPositionCount, entry.getCreatedAt());
+    }
+
+    /**
+     * 退出候补名单
+     * 先锁定课程行，与递补互斥：返回成功后不会再被递补注册
+     */
+    public void leaveWaitlist(Integer userId, Integer courseId) {
+        courseMapper.lockMaxStudents(courseId);
+        if (waitlistMapper.deleteByCourseAndUser(courseId, userId) == 0) {
+            throw new RuntimeException("用户不在该课程的候补名单中");
+        }
+    }
+
+    /**
+     * 获取课程候补人数
+     */
+    @Transactional(readOnly = true)
+    public int getWaitlistCount(Integer courseId) {
+        return waitlistMapper.countByCourseId(courseId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.no99.edunexuscourse_management.dto;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 课程列表游标编解码测试
+ */
+class CourseCursorTest {
+
+    @Test
+    void encodedCursorDecodesToSamePosition() {
+        Course course = new Course();
+        course.setId(42);
+        course.setCreatedAt(LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_000_000));
+
+        String cursor = CourseCursor.encode(course);
+        CourseCursor decoded = CourseCursor.decode(cursor);
+
+        assertEquals(course.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(42, decoded.getId());
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        Course course = new Course();
+        course.setId(Integer.MAX_VALUE);
+        course.setCreatedAt(LocalDateTime.of(2024, 12, 31, 23, 59, 59));
+
+        String cursor = CourseCursor.encode(course);
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(CourseCursor.decode(null));
+        assertNull(CourseCursor.decode(""));
+        assertNull(CourseCursor.decode("   "));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertInvalid("not-base64!!");
+        assertInvalid(encodeRaw("2024-03-01T08:30:15"));
+        assertInvalid(encodeRaw("2024-03-01T08:30:15|"));
+        assertInvalid(encodeRaw("2024-03-01T08:30:15|abc"));
+        assertInvalid(encodeRaw("yesterday|42"));
+        assertInvalid(encodeRaw("|42"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CourseCursor.decode(cursor));
+        assertEquals("无效的分页游标", e.getMessage());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
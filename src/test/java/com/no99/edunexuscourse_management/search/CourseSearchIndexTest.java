@@ -0,0 +1,120 @@
+package com.no99.edunexuscourse_management.search;
+
+import com.no99.edunexuscourse_management.entity.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 课程倒排索引检索测试
+ */
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex();
+    }
+
+    @Test
+    void exactTermsMatchAcrossFields() {
+        index.index(course(1, "CS101", "Intro to Java", "Basics"));
+        index.index(course(2, "MA201", "Linear Algebra", "Matrices and java examples"));
+        index.index(course(3, "HI100", "World History", null));
+
+        assertEquals(List.of(1, 2), ids(index.search("java", 0, 10)));
+        assertEquals(List.of(3), ids(index.search("history", 0, 10)));
+    }
+
+    @Test
+    void allQueryTermsMustMatch() {
+        index.index(course(1, "CS101", "Intro to Java", null));
+        index.index(course(2, "CS102", "Advanced Java", null));
+
+        assertEquals(List.of(2), ids(index.search("advanced java", 0, 10)));
+        assertTrue(index.search("advanced python", 0, 10).getCourses().isEmpty());
+    }
+
+    @Test
+    void prefixMatchesRankBelowExactMatches() {
+        index.index(course(1, "X1", "Javascript Patterns", null));
+        index.index(course(2, "X2", "Java Patterns", null));
+
+        assertEquals(List.of(2, 1), ids(index.search("java", 0, 10)));
+    }
+
+    @Test
+    void shortPrefixReturnsEveryMatchingCourse() {
+        // 每门课程一个不同的以 a 开头的词，展开的词数远多于一页
+        int courses = 300;
+        for (int i = 1; i <= courses; i++) {
+            index.index(course(i, "C" + i, "a" + Integer.toString(i, 36) + "topic", null));
+        }
+
+        CourseSearchIndex.SearchResult first = index.search("a", 0, 100);
+        assertEquals(courses, first.getTotal());
+
+        Set<Integer> seen = new HashSet<>();
+        for (int offset = 0; offset < courses; offset += 100) {
+            seen.addAll(ids(index.search("a", offset, 100)));
+        }
+        assertEquals(courses, seen.size());
+    }
+
+    @Test
+    void cjkQueriesMatchBigrams() {
+        index.index(course(1, "DS1", "数据结构", "线性表与树"));
+        index.index(course(2, "DB1", "数据库原理", null));
+        index.index(course(3, "OS1", "操作系统", null));
+
+        assertEquals(List.of(2, 1), ids(index.search("数据", 0, 10)));
+        assertEquals(List.of(1), ids(index.search("数据结构", 0, 10)));
+        assertEquals(List.of(2), ids(index.search("数据库", 0, 10)));
+        // 单字查询按前缀匹配以该字开头的二元词
+        assertEquals(List.of(3), ids(index.search("操", 0, 10)));
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflected() {
+        index.index(course(1, "CS101", "Intro to Java", null));
+        index.index(course(1, "CS101", "Intro to Kotlin", null));
+
+        assertTrue(index.search("java", 0, 10).getCourses().isEmpty());
+        assertEquals(List.of(1), ids(index.search("kotlin", 0, 10)));
+
+        index.remove(1);
+        assertEquals(0, index.search("kotlin", 0, 10).getTotal());
+    }
+
+    @Test
+    void pagesAreSlicedFromTheRankedResult() {
+        for (int i = 1; i <= 5; i++) {
+            index.index(course(i, "C" + i, "Java " + i, null));
+        }
+
+        CourseSearchIndex.SearchResult page = index.search("java", 2, 2);
+        assertEquals(5, page.getTotal());
+        // 分数相同按ID倒序
+        assertEquals(List.of(3, 2), ids(page));
+    }
+
+    private static Course course(int id, String code, String title, String description) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCode(code);
+        course.setTitle(title);
+        course.setDescription(description);
+        return course;
+    }
+
+    private static List<Integer> ids(CourseSearchIndex.SearchResult result) {
+        return result.getCourses().stream().map(Course::getId).toList();
+    }
+}
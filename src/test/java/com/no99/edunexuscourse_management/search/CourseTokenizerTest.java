@@ -0,0 +1,52 @@
+package com.no99.edunexuscourse_management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 课程文本分词测试
+ */
+class CourseTokenizerTest {
+
+    @Test
+    void latinWordsAreSplitOnNonAlphanumericsAndLowercased() {
+        assertEquals(List.of("cs101", "intro", "to", "java"), CourseTokenizer.tokenize("CS101: Intro-to Java!"));
+    }
+
+    @Test
+    void repeatedWordsAreKept() {
+        assertEquals(List.of("data", "and", "data"), CourseTokenizer.tokenize("data and DATA"));
+    }
+
+    @Test
+    void cjkRunsBecomeBigrams() {
+        assertEquals(List.of("数据", "据结", "结构"), CourseTokenizer.tokenize("数据结构"));
+    }
+
+    @Test
+    void singleCjkCharacterIsKept() {
+        assertEquals(List.of("课"), CourseTokenizer.tokenize("课"));
+    }
+
+    @Test
+    void mixedScriptsSplitAtBoundaries() {
+        assertEquals(List.of("java", "程序", "序设", "设计", "2"), CourseTokenizer.tokenize("Java程序设计2"));
+    }
+
+    @Test
+    void japaneseAndKoreanUseBigrams() {
+        assertEquals(List.of("プロ", "ログ", "グラ", "ラム"), CourseTokenizer.tokenize("プログラム"));
+        assertEquals(List.of("자료", "료구", "구조"), CourseTokenizer.tokenize("자료구조"));
+    }
+
+    @Test
+    void emptyInputHasNoTokens() {
+        assertTrue(CourseTokenizer.tokenize(null).isEmpty());
+        assertTrue(CourseTokenizer.tokenize("").isEmpty());
+        assertTrue(CourseTokenizer.tokenize(" ,.;- ").isEmpty());
+    }
+}
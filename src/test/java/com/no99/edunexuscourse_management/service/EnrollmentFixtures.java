@@ -0,0 +1,50 @@
+package com.no99.edunexuscourse_management.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 注册相关集成测试共用的数据准备
+ */
+final class EnrollmentFixtures {
+
+    private EnrollmentFixtures() {
+    }
+
+    /**
+     * 清空候补名单、注册、课程和用户表
+     */
+    static void reset(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM course_waitlist");
+        jdbcTemplate.update("DELETE FROM enrollments");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    /**
+     * 插入ID为 1..count 的用户
+     */
+    static void insertUsers(JdbcTemplate jdbcTemplate, int count) {
+        for (int userId = 1; userId <= count; userId++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, email) VALUES (?, ?, ?)",
+                    userId, "user" + userId, "user" + userId + "@example.com");
+        }
+    }
+
+    /**
+     * 插入已发布的公开课程
+     */
+    static void insertCourse(JdbcTemplate jdbcTemplate, int courseId, int maxStudents) {
+        jdbcTemplate.update("INSERT INTO courses (id, title, code, instructor_id, max_students, is_public, status) " +
+                "VALUES (?, ?, ?, 1, ?, 1, 'published')", courseId, "测试课程" + courseId, "TEST" + courseId, maxStudents);
+    }
+
+    /**
+     * 统计课程的有效注册数
+     */
+    static int countActive(JdbcTemplate jdbcTemplate, int courseId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM enrollments WHERE course_id = ? AND enrollment_status = 'active'",
+                Integer.class, courseId);
+        return count == null ? 0 : count;
+    }
+}
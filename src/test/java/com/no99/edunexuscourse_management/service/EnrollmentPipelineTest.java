@@ -0,0 +1,59 @@
+package com.no99.edunexuscourse_management.service;
+
+import com.no99.edunexuscourse_management.dto.BatchEnrollmentResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 排队注册管道测试：同一批次中某门课程失败不影响其他课程的提交
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "enrollment.pipeline.enabled=true",
+        "enrollment.pipeline.max-delay=500ms"
+})
+class EnrollmentPipelineTest {
+
+    private static final int COURSE_ID = 1;
+    private static final int MISSING_COURSE_ID = 99;
+
+    @Autowired
+    private EnrollmentPipeline enrollmentPipeline;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        EnrollmentFixtures.reset(jdbcTemplate);
+        EnrollmentFixtures.insertUsers(jdbcTemplate, 2);
+        EnrollmentFixtures.insertCourse(jdbcTemplate, COURSE_ID, 10);
+    }
+
+    @Test
+    void missingCourseFailsOnlyItsOwnRequests() throws Exception {
+        CompletableFuture<BatchEnrollmentResult.Outcome> first = enrollmentPipeline.submit(1, COURSE_ID);
+        CompletableFuture<BatchEnrollmentResult.Outcome> missing = enrollmentPipeline.submit(1, MISSING_COURSE_ID);
+        CompletableFuture<BatchEnrollmentResult.Outcome> second = enrollmentPipeline.submit(2, COURSE_ID);
+
+        assertEquals(BatchEnrollmentResult.Outcome.ENROLLED, first.get(10, TimeUnit.SECONDS));
+        assertEquals(BatchEnrollmentResult.Outcome.ENROLLED, second.get(10, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> missing.get(10, TimeUnit.SECONDS));
+        assertTrue(error.getCause().getMessage().contains("课程不存在"));
+        assertEquals(2, EnrollmentFixtures.countActive(jdbcTemplate, COURSE_ID));
+    }
+}
@@ -0,0 +1,151 @@
+package com.no99.edunexuscourse_management.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并发注册压力测试：验证人数上限和重复注册在并发下仍然成立
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=40")
+class EnrollmentServiceConcurrencyTest {
+
+    private static final int COURSE_ID = 1;
+    private static final int MAX_STUDENTS = 30;
+    private static final int STUDENTS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        EnrollmentFixtures.reset(jdbcTemplate);
+        EnrollmentFixtures.insertCourse(jdbcTemplate, COURSE_ID, MAX_STUDENTS);
+    }
+
+    @Test
+    void concurrentEnrollmentsNeverExceedCapacity() throws Exception {
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(STUDENTS, i -> () -> {
+            try {
+                enrollmentService.enrollCourse(10_000 + i, COURSE_ID);
+                enrolled.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(MAX_STUDENTS, enrolled.get());
+        assertEquals(STUDENTS - MAX_STUDENTS, rejected.get());
+        assertEquals(MAX_STUDENTS, countActiveEnrollments());
+    }
+
+    @Test
+    void concurrentDuplicateEnrollmentsCreateSingleRow() throws Exception {
+        AtomicInteger enrolled = new AtomicInteger();
+
+        runConcurrently(200, i -> () -> {
+            try {
+                enrollmentService.enrollCourse(42, COURSE_ID);
+                enrolled.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                // 重复注册被拒绝
+            }
+            return null;
+        });
+
+        assertEquals(1, enrolled.get());
+        assertEquals(1, countActiveEnrollments());
+    }
+
+    @Test
+    void concurrentDeletesAndEnrollmentsNeverExceedCapacity() throws Exception {
+        for (int i = 0; i < MAX_STUDENTS; i++) {
+            enrollmentService.enrollCourse(10_000 + i, COURSE_ID);
+        }
+        int waitlisted = 5;
+        for (int i = 0; i < waitlisted; i++) {
+            jdbcTemplate.update("INSERT INTO course_waitlist (course_id, user_id) VALUES (?, ?)", COURSE_ID, 20_000 + i);
+        }
+        int deletes = 10;
+        List<Integer> enrollmentIds = jdbcTemplate.queryForList(
+                "SELECT id FROM enrollments WHERE course_id = ? ORDER BY id LIMIT ?", Integer.class, COURSE_ID, deletes);
+        AtomicInteger enrolled = new AtomicInteger();
+
+        runConcurrently(200, i -> () -> {
+            if (i < deletes) {
+                enrollmentService.deleteEnrollment(enrollmentIds.get(i));
+                return null;
+            }
+            try {
+                enrollmentService.enrollCourse(30_000 + i, COURSE_ID);
+                enrolled.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                // 课程人数已满
+            }
+            return null;
+        });
+
+        // 前几次删除空出的名额在同一事务中递补给候补用户，其余名额由并发注册占用
+        int active = countActiveEnrollments();
+        assertTrue(active <= MAX_STUDENTS);
+        assertEquals(MAX_STUDENTS - deletes + waitlisted + enrolled.get(), active);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_waitlist", Integer.class));
+    }
+
+    private int countActiveEnrollments() {
+        return EnrollmentFixtures.countActive(jdbcTemplate, COURSE_ID);
+    }
+
+    private void runConcurrently(int tasks, TaskFactory factory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                Callable<Void> task = factory.create(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TaskFactory {
+        Callable<Void> create(int index);
+    }
+}
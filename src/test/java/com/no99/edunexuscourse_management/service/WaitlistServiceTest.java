@@ -0,0 +1,121 @@
+package com.no99.edunexuscourse_management.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 候补名单测试：满员后加入候补，名额空出时按先后顺序递补
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "waitlist.position.max-count=2")
+class WaitlistServiceTest {
+
+    private static final int COURSE_ID = 1;
+    private static final int MAX_STUDENTS = 2;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        EnrollmentFixtures.reset(jdbcTemplate);
+        EnrollmentFixtures.insertUsers(jdbcTemplate, 5);
+        EnrollmentFixtures.insertCourse(jdbcTemplate, COURSE_ID, MAX_STUDENTS);
+
+        enrollmentService.enrollCourse(1, COURSE_ID);
+        enrollmentService.enrollCourse(2, COURSE_ID);
+    }
+
+    @Test
+    void joinRequiresFullCourseAndAssignsPositionsInOrder() {
+        assertEquals(1, waitlistService.joinWaitlist(3, COURSE_ID).getPosition());
+        assertEquals(2, waitlistService.joinWaitlist(4, COURSE_ID).getPosition());
+        assertEquals(3, waitlistService.joinWaitlist(5, COURSE_ID).getPosition());
+        assertEquals(3, waitlistService.getWaitlistCount(COURSE_ID));
+        assertTrue(waitlistService.getPosition(4, COURSE_ID).isExact());
+        // 前方人数达到统计上限（2）时只报告"排在第3名或之后"
+        assertFalse(waitlistService.getPosition(5, COURSE_ID).isExact());
+
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.joinWaitlist(1, COURSE_ID));
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.joinWaitlist(3, COURSE_ID));
+
+        waitlistService.leaveWaitlist(4, COURSE_ID);
+        assertEquals(2, waitlistService.getPosition(5, COURSE_ID).getPosition());
+        assertTrue(waitlistService.getPosition(5, COURSE_ID).isExact());
+    }
+
+    @Test
+    void dropPromotesHeadAndShiftsPositions() {
+        waitlistService.joinWaitlist(3, COURSE_ID);
+        waitlistService.joinWaitlist(4, COURSE_ID);
+        waitlistService.joinWaitlist(5, COURSE_ID);
+
+        enrollmentService.dropCourse(1, COURSE_ID);
+
+        assertTrue(isActive(3));
+        assertFalse(isActive(4));
+        assertThrows(RuntimeException.class, () -> waitlistService.getPosition(3, COURSE_ID));
+        assertEquals(1, waitlistService.getPosition(4, COURSE_ID).getPosition());
+        assertEquals(2, waitlistService.getPosition(5, COURSE_ID).getPosition());
+        assertEquals(MAX_STUDENTS, countActive());
+    }
+
+    @Test
+    void deletingActiveEnrollmentPromotesHead() {
+        waitlistService.joinWaitlist(3, COURSE_ID);
+        waitlistService.joinWaitlist(4, COURSE_ID);
+
+        Integer enrollmentId = jdbcTemplate.queryForObject(
+                "SELECT id FROM enrollments WHERE user_id = 2 AND course_id = ?", Integer.class, COURSE_ID);
+        enrollmentService.deleteEnrollment(enrollmentId);
+
+        assertTrue(isActive(3));
+        assertEquals(1, waitlistService.getPosition(4, COURSE_ID).getPosition());
+        assertEquals(MAX_STUDENTS, countActive());
+    }
+
+    @Test
+    void promotionSkipsHeadThatIsAlreadyEnrolled() {
+        waitlistService.joinWaitlist(3, COURSE_ID);
+        waitlistService.joinWaitlist(4, COURSE_ID);
+
+        // 扩容后队首用户直接注册，仍留在候补名单中
+        jdbcTemplate.update("UPDATE courses SET max_students = ? WHERE id = ?", MAX_STUDENTS + 1, COURSE_ID);
+        enrollmentService.enrollCourse(3, COURSE_ID);
+
+        enrollmentService.dropCourse(1, COURSE_ID);
+
+        assertTrue(isActive(3));
+        assertTrue(isActive(4));
+        assertEquals(0, waitlistService.getWaitlistCount(COURSE_ID));
+        assertEquals(MAX_STUDENTS + 1, countActive());
+    }
+
+    private boolean isActive(int userId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM enrollments WHERE user_id = ? AND course_id = ? AND enrollment_status = 'active'",
+                Integer.class, userId, COURSE_ID);
+        return count != null && count == 1;
+    }
+
+    private int countActive() {
+        return EnrollmentFixtures.countActive(jdbcTemplate, COURSE_ID);
+    }
+}